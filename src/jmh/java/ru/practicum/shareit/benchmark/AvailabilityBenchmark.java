@@ -0,0 +1,65 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.availability.AvailabilityProperties;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.common.loader.LoadedEntities;
+import ru.practicum.shareit.item.dto.ExtendedItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Индекс занятости вещи с {@code size} бронированиями: чтение сводки для карточки вещи
+ * и резервирование свободного периода с последующим освобождением.
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.Throughput)
+@OutputTimeUnit (TimeUnit.SECONDS)
+@Warmup (iterations = 3, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+public class AvailabilityBenchmark {
+
+    @Param ({"10", "1000", "100000"})
+    int size;
+
+    ItemAvailabilityIndex index;
+    LoadedEntities loaded;
+    Booking freeSlot;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime from = LocalDateTime.now().minusHours(size / 2);
+        index = new ItemAvailabilityIndex(null, new AvailabilityProperties(256));
+        List<Booking> bookings = BenchmarkData.bookings(size + 1, from);
+        bookings.subList(0, size).forEach(booking -> index.reserve(booking, () -> booking));
+        freeSlot = bookings.getLast();
+        loaded = BenchmarkData.loaded(List.of());
+    }
+
+    @Benchmark
+    public ExtendedItemDto extendedItemDto() {
+        return ItemMapper.mapToExtendedItemDto(BenchmarkData.ITEM, index.summary(BenchmarkData.ITEM_ID), loaded);
+    }
+
+    @Benchmark
+    public Booking reserveAndRelease() {
+        Booking reserved = index.reserve(freeSlot, () -> freeSlot);
+        index.release(reserved);
+        return reserved;
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.common.loader.LoadedEntities;
+import ru.practicum.shareit.common.loader.LoadedEntitiesFixture;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Синтетические данные для бенчмарков: одна вещь, её владелец, бронирующий и заданное число
+ * бронирований и комментариев к этой вещи.
+ */
+@NoArgsConstructor (access = AccessLevel.PRIVATE)
+final class BenchmarkData {
+
+    static final long ITEM_ID = 1L;
+    static final long OWNER_ID = 1L;
+    static final long BOOKER_ID = 2L;
+
+    static final User OWNER = User.builder().id(OWNER_ID).name("owner").email("owner@example.com").build();
+    static final User BOOKER = User.builder().id(BOOKER_ID).name("booker").email("booker@example.com").build();
+    static final Item ITEM = Item.builder()
+            .id(ITEM_ID)
+            .name("Дрель")
+            .description("Простая дрель")
+            .available(true)
+            .owner(OWNER)
+            .build();
+
+    /**
+     * Последовательные непересекающиеся часовые бронирования вещи, начиная с заданного момента.
+     */
+    static List<Booking> bookings(int count, LocalDateTime from) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            bookings.add(Booking.builder()
+                    .id((long) i + 1)
+                    .start(from.plusHours(i))
+                    .end(from.plusHours(i + 1))
+                    .item(ITEM)
+                    .booker(BOOKER)
+                    .status(BookingStatus.APPROVED)
+                    .build());
+        }
+        return bookings;
+    }
+
+    static List<Comment> comments(int count) {
+        List<Comment> comments = new ArrayList<>(count);
+        LocalDateTime created = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            comments.add(Comment.builder()
+                    .id(i + 1)
+                    .text("Комментарий " + i)
+                    .item(ITEM)
+                    .author(BOOKER)
+                    .createDate(created)
+                    .build());
+        }
+        return comments;
+    }
+
+    static LoadedEntities loaded(List<Comment> comments) {
+        return LoadedEntitiesFixture.of(
+                Map.of(ITEM_ID, ITEM),
+                Map.of(OWNER_ID, OWNER, BOOKER_ID, BOOKER),
+                Map.of(ITEM_ID, comments.stream().map(Comment::getText).toList()));
+    }
+}
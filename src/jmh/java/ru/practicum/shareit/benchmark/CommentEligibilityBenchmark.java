@@ -0,0 +1,58 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.comment.CommentEligibility;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка права оставить комментарий по бронированиям автора.
+ * Все бронирования, кроме последнего, ещё не закончились, поэтому проверка просматривает весь список.
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.Throughput)
+@OutputTimeUnit (TimeUnit.SECONDS)
+@Warmup (iterations = 3, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+public class CommentEligibilityBenchmark {
+
+    @Param ({"10", "1000", "100000"})
+    int size;
+
+    List<Booking> futureBookings;
+    List<Booking> lastFinished;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        futureBookings = BenchmarkData.bookings(size, now.plusDays(1));
+        lastFinished = BenchmarkData.bookings(size, now.plusDays(1));
+        Booking last = lastFinished.getLast();
+        last.setStart(now.minusDays(2));
+        last.setEnd(now.minusDays(1));
+    }
+
+    @Benchmark
+    public boolean noFinishedBooking() {
+        return CommentEligibility.hasFinishedBooking(futureBookings, BenchmarkData.ITEM_ID, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public boolean lastBookingFinished() {
+        return CommentEligibility.hasFinishedBooking(lastFinished, BenchmarkData.ITEM_ID, LocalDateTime.now());
+    }
+}
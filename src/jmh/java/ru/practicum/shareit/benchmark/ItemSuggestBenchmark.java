@@ -0,0 +1,81 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
+import ru.practicum.shareit.item.search.ItemSuggestProperties;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Подсказки названий по префиксу среди {@code size} доступных вещей: короткий префикс с большим
+ * поддеревом, длинный префикс, изменение названия одной вещи и полное перестроение дерева.
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MICROSECONDS)
+@Warmup (iterations = 3, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+public class ItemSuggestBenchmark {
+
+    private static final String[] WORDS = {"дрель", "пила", "отвёртка", "лестница", "палатка", "велосипед", "шуруповёрт",
+            "перфоратор", "рюкзак", "удочка", "аккумуляторная", "ударная", "складная", "туристическая", "детский"};
+
+    @Param ({"1000", "100000"})
+    int size;
+
+    ItemSuggestIndex index;
+    Item renamed;
+    int version;
+
+    @Setup
+    public void setUp() {
+        index = new ItemSuggestIndex(null, new ItemSuggestProperties(10));
+        for (int i = 0; i < size; i++) {
+            index.index(item(i, WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length] + " " + i % 997));
+        }
+        index.rebuild();
+        renamed = item(0, "");
+    }
+
+    @Benchmark
+    public List<String> shortPrefix() {
+        return index.suggest("п", null);
+    }
+
+    @Benchmark
+    public List<String> longPrefix() {
+        return index.suggest("дрель аккумулятор", null);
+    }
+
+    @Benchmark
+    public Item rename() {
+        renamed.setName("дрель ударная " + (version++ & 1023));
+        index.index(renamed);
+        return renamed;
+    }
+
+    @Benchmark
+    @BenchmarkMode (Mode.SingleShotTime)
+    @OutputTimeUnit (TimeUnit.MILLISECONDS)
+    public ItemSuggestIndex rebuild() {
+        index.rebuild();
+        return index;
+    }
+
+    private static Item item(long id, String name) {
+        return Item.builder().id(id).name(name).available(true).build();
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.availability.ItemBookingSummary;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.common.loader.LoadedEntities;
+import ru.practicum.shareit.item.comment.CommentMapper;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.dto.ExtendedItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразование бронирований, комментариев и расширенной карточки вещи в DTO.
+ * Одна операция — преобразование всех {@code size} бронирований или комментариев одной вещи.
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.Throughput)
+@OutputTimeUnit (TimeUnit.SECONDS)
+@Warmup (iterations = 3, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+public class MapperBenchmark {
+
+    @Param ({"10", "1000", "100000"})
+    int size;
+
+    List<Booking> bookings;
+    List<Comment> comments;
+    LoadedEntities loaded;
+    ItemBookingSummary summary;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        bookings = BenchmarkData.bookings(size, now.minusHours(size / 2));
+        comments = BenchmarkData.comments(size);
+        loaded = BenchmarkData.loaded(comments);
+        summary = new ItemBookingSummary(now.minusHours(1), now.plusHours(1));
+    }
+
+    @Benchmark
+    public void bookingDtos(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(BookingMapper.toBookingDto(booking, loaded));
+        }
+    }
+
+    @Benchmark
+    public void commentDtos(Blackhole blackhole) {
+        for (Comment comment : comments) {
+            blackhole.consume(CommentMapper.toCommentDto(comment, loaded));
+        }
+    }
+
+    @Benchmark
+    public ExtendedItemDto extendedItemDto() {
+        return ItemMapper.mapToExtendedItemDto(BenchmarkData.ITEM, summary, loaded);
+    }
+}
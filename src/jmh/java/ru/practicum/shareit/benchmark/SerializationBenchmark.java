@@ -0,0 +1,84 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.common.loader.LoadedEntities;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация страницы бронирований владельца в JSON, CBOR и Smile и разбор её обратно в {@link BookingDto}.
+ * Одна операция — запись или чтение всех {@code size} бронирований одним телом ответа.
+ * Размер тела в каждом формате печатается при подготовке данных.
+ */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.Throughput)
+@OutputTimeUnit (TimeUnit.SECONDS)
+@Warmup (iterations = 3, time = 1)
+@Measurement (iterations = 5, time = 1)
+@Fork (1)
+public class SerializationBenchmark {
+
+    @Param ({"json", "cbor", "smile"})
+    String format;
+
+    @Param ({"10", "1000"})
+    int size;
+
+    ObjectMapper objectMapper;
+    List<BookingDto> bookings;
+    byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory(format))
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()))
+                .build();
+        List<Booking> source = BenchmarkData.bookings(size, LocalDateTime.now());
+        LoadedEntities loaded = BenchmarkData.loaded(BenchmarkData.comments(3));
+        bookings = source.stream().map(booking -> BookingMapper.toBookingDto(booking, loaded)).toList();
+        payload = objectMapper.writeValueAsBytes(bookings);
+        System.out.printf("%n%s, %d бронирований: %d байт%n", format, size, payload.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public BookingDto[] decode() throws IOException {
+        return objectMapper.readValue(payload, BookingDto[].class);
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.common.loader;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Создаёт {@link LoadedEntities} из готовых данных без обращения к репозиториям.
+ */
+@NoArgsConstructor (access = AccessLevel.PRIVATE)
+public class LoadedEntitiesFixture {
+
+    public static LoadedEntities of(Map<Long, Item> items, Map<Long, User> users, Map<Long, List<String>> comments) {
+        return new LoadedEntities(items, users, comments);
+    }
+}
@@ -3,6 +3,8 @@ package ru.practicum.shareit.booking;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,18 +15,26 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.enums.BookingSearchState;
 import ru.practicum.shareit.booking.interfaces.BookingService;
+import ru.practicum.shareit.booking.stream.OwnerBookingFeed;
+import ru.practicum.shareit.common.batch.BatchResultDto;
 
 import java.util.Collection;
+import java.util.List;
 
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 @RestController
 public final class BookingController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
+    private final OwnerBookingFeed ownerBookingFeed;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -32,23 +42,46 @@ public final class BookingController {
         return bookingService.createBooking(bookerId, dto);
     }
 
+    @PostMapping("/batch")
+    public BatchResultDto<BookingDto> createBookings(@RequestHeader(name = "X-Sharer-User-Id") long bookerId, @RequestBody List<CreateBookingDto> dtos) {
+        return bookingService.createBookings(bookerId, dtos);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getBooking(@RequestHeader(name = "X-Sharer-User-Id") long userId, @PathVariable long bookingId) {
         return bookingService.getBooking(bookingId, userId);
     }
 
     @GetMapping
-    public Collection<BookingDto> getBookings(@RequestHeader(name = "X-Sharer-User-Id") long bookerId, @RequestParam(defaultValue = "ALL") BookingSearchState state) {
-        return bookingService.getBookings(bookerId, state);
+    public ResponseEntity<Collection<BookingDto>> getBookings(@RequestHeader(name = "X-Sharer-User-Id") long bookerId, @RequestParam(defaultValue = "ALL") BookingSearchState state,
+                                                              @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return toResponse(bookingService.getBookings(bookerId, state, cursor, size));
     }
 
     @GetMapping("/owner")
-    public Collection<BookingDto> getOwnerBookings(@RequestHeader(name = "X-Sharer-User-Id") long ownerId, @RequestParam(defaultValue = "ALL") BookingSearchState state) {
-        return bookingService.getOwnerBookings(ownerId, state);
+    public ResponseEntity<Collection<BookingDto>> getOwnerBookings(@RequestHeader(name = "X-Sharer-User-Id") long ownerId, @RequestParam(defaultValue = "ALL") BookingSearchState state,
+                                                                   @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return toResponse(bookingService.getOwnerBookings(ownerId, state, cursor, size));
+    }
+
+    @GetMapping(value = "/owner/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOwnerBookings(@RequestHeader(name = "X-Sharer-User-Id") long ownerId) {
+        return ownerBookingFeed.subscribe(ownerId);
     }
 
     @PatchMapping(value = "/{bookingId}")
     public BookingDto approveBooking(@RequestHeader(name = "X-Sharer-User-Id") long ownerId, @PathVariable long bookingId, @RequestParam boolean approved) {
         return bookingService.approveBooking(bookingId, ownerId, approved);
     }
+
+    /**
+     * Формирует ответ со страницей бронирований; курсор следующей страницы передаётся в заголовке.
+     */
+    private static ResponseEntity<Collection<BookingDto>> toResponse(BookingPageDto page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.bookings());
+    }
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.archive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Настройки архивации бронирований.
+ *
+ * @param horizon         сколько хранить закончившиеся бронирования в горячей таблице.
+ * @param batchSize       количество бронирований, переносимых в архив одной транзакцией.
+ * @param partitionsAhead на сколько месяцев вперёд заранее создаются секции таблицы бронирований.
+ */
+@ConfigurationProperties (prefix = "shareit.booking.archive")
+public record ArchiveProperties(@DefaultValue ("365d") Duration horizon,
+                                @DefaultValue ("1000") int batchSize,
+                                @DefaultValue ("3") int partitionsAhead) {
+}
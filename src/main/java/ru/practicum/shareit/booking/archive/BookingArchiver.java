@@ -0,0 +1,97 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.common.transaction.TransactionCallbacks;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Переносит бронирования, закончившиеся раньше горизонта хранения, из таблицы bookings в bookings_archive.
+ * <p>
+ * Бронирования переносятся пачками по {@link ArchiveProperties#batchSize()}, каждая пачка копируется
+ * и удаляется одной транзакцией, поэтому бронирование всегда находится ровно в одной из таблиц,
+ * а блокировки держатся недолго. Пачка блокирует выбранные строки и пропускает уже заблокированные,
+ * поэтому архиваторы нескольких экземпляров приложения делят работу, а не переносят одни и те же
+ * бронирования. Перенесённые бронирования удаляются из индекса занятости вещей, после переноса
+ * обслуживаются секции таблицы бронирований.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingArchiver {
+
+    private static final String SELECT_EXPIRED = " SELECT booking_id, item_id FROM bookings WHERE end_date < ? ORDER BY end_date LIMIT ? FOR UPDATE SKIP LOCKED ";
+
+    private static final String COPY_TO_ARCHIVE = " INSERT INTO bookings_archive (booking_id, start_date, end_date, item_id, user_id, owner_id, status) " +
+            " SELECT booking_id, start_date, end_date, item_id, user_id, owner_id, status FROM bookings " +
+            " WHERE end_date < :cutoff AND booking_id IN (:ids) ";
+
+    private static final String DELETE_ARCHIVED = " DELETE FROM bookings WHERE end_date < :cutoff AND booking_id IN (:ids) ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingPartitionMaintainer partitionMaintainer;
+    private final ItemAvailabilityIndex availabilityIndex;
+    private final ArchiveProperties properties;
+
+    /**
+     * Переносит в архив бронирования, закончившиеся раньше горизонта хранения.
+     */
+    @Scheduled (fixedDelayString = "${shareit.booking.archive.interval:PT1H}",
+            initialDelayString = "${shareit.booking.archive.interval:PT1H}")
+    public void archiveExpired() {
+        archive(LocalDateTime.now().minus(properties.horizon()));
+    }
+
+    /**
+     * Переносит в архив бронирования, закончившиеся раньше указанного момента.
+     *
+     * @param cutoff момент, раньше которого закончились переносимые бронирования.
+     * @return количество перенесённых бронирований.
+     */
+    public long archive(LocalDateTime cutoff) {
+        long moved = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> moveBatch(cutoff));
+            moved += batch;
+        } while (batch == properties.batchSize());
+        partitionMaintainer.maintain(YearMonth.now(), properties.partitionsAhead(), cutoff);
+        if (moved > 0) {
+            log.info("В архив перенесено {} бронирований, закончившихся до {}", moved, cutoff);
+        }
+        return moved;
+    }
+
+    private int moveBatch(LocalDateTime cutoff) {
+        List<ArchivedBooking> expired = jdbcTemplate.query(SELECT_EXPIRED,
+                (row, rowNum) -> new ArchivedBooking(row.getLong("booking_id"), row.getLong("item_id")),
+                Timestamp.valueOf(cutoff), properties.batchSize());
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = expired.stream().map(ArchivedBooking::bookingId).toList();
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("ids", ids);
+        namedJdbcTemplate.update(COPY_TO_ARCHIVE, parameters);
+        namedJdbcTemplate.update(DELETE_ARCHIVED, parameters);
+        TransactionCallbacks.afterCommit(() -> expired.forEach(booking -> availabilityIndex.release(booking.itemId(), booking.bookingId())));
+        return ids.size();
+    }
+
+    private record ArchivedBooking(long bookingId, long itemId) {
+    }
+}
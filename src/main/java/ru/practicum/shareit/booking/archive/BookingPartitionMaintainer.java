@@ -0,0 +1,127 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Обслуживает помесячные секции таблицы bookings в PostgreSQL: заранее создаёт секции будущих месяцев
+ * и удаляет опустевшие после архивации секции прошлых. На базах без секционирования ничего не делает.
+ * <p>
+ * Бронирования, для месяца которых секция ещё не создана, хранятся в секции bookings_default.
+ * При создании секции они переносятся в неё той же транзакцией, что и подключение секции.
+ * Секции создаются и удаляются под транзакционной advisory-блокировкой, поэтому экземпляры приложения
+ * не обслуживают секции одновременно.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingPartitionMaintainer {
+
+    private static final String PREFIX = "bookings_p";
+
+    private static final long MAINTENANCE_LOCK = 0x5348415245L;
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String SELECT_PARTITIONS = " SELECT c.relname FROM pg_inherits i " +
+            " JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+            " WHERE p.relname = 'bookings' AND c.relname LIKE 'bookings\\_p%' ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Boolean partitioned;
+
+    /**
+     * Создаёт секции текущего и следующих месяцев и удаляет пустые секции, целиком лежащие раньше границы.
+     *
+     * @param current      текущий месяц.
+     * @param monthsAhead  на сколько месяцев вперёд создаются секции.
+     * @param cutoff       граница архивации.
+     */
+    public void maintain(YearMonth current, int monthsAhead, LocalDateTime cutoff) {
+        if (! isPartitioned()) {
+            return;
+        }
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+        for (String partition : jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class)) {
+            YearMonth month = YearMonth.parse(partition.substring(PREFIX.length()), SUFFIX);
+            if (! month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)) {
+                dropIfEmpty(partition);
+            }
+        }
+    }
+
+    private boolean isPartitioned() {
+        if (partitioned == null) {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            partitioned = "PostgreSQL".equals(database) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    " SELECT EXISTS (SELECT 1 FROM pg_partitioned_table t JOIN pg_class c ON c.oid = t.partrelid WHERE c.relname = 'bookings') ",
+                    Boolean.class));
+        }
+        return partitioned;
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = PREFIX + SUFFIX.format(month);
+        if (exists(partition)) {
+            return;
+        }
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        Boolean created = transactionTemplate.execute(status -> {
+            lockMaintenance();
+            if (exists(partition)) {
+                return false;
+            }
+            jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE bookings INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            jdbcTemplate.update("WITH moved AS (DELETE FROM bookings_default WHERE end_date >= ? AND end_date < ? RETURNING *) " +
+                    " INSERT INTO " + partition + " SELECT * FROM moved", Date.valueOf(from), Date.valueOf(to));
+            jdbcTemplate.execute("ALTER TABLE bookings ATTACH PARTITION " + partition + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            return true;
+        });
+        if (Boolean.TRUE.equals(created)) {
+            log.info("Создана секция бронирований {}", partition);
+        }
+    }
+
+    private void dropIfEmpty(String partition) {
+        Boolean dropped = transactionTemplate.execute(status -> {
+            lockMaintenance();
+            if (! exists(partition)) {
+                return false;
+            }
+            jdbcTemplate.execute("LOCK TABLE " + partition + " IN ACCESS EXCLUSIVE MODE");
+            List<Integer> rows = jdbcTemplate.queryForList("SELECT 1 FROM " + partition + " LIMIT 1", Integer.class);
+            if (! rows.isEmpty()) {
+                return false;
+            }
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            return true;
+        });
+        if (Boolean.TRUE.equals(dropped)) {
+            log.info("Удалена пустая секция бронирований {}", partition);
+        }
+    }
+
+    private boolean exists(String partition) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(" SELECT to_regclass(?) IS NOT NULL ", Boolean.class, partition));
+    }
+
+    private void lockMaintenance() {
+        jdbcTemplate.queryForList(" SELECT pg_advisory_xact_lock(?) ", MAINTENANCE_LOCK);
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Настройки индекса занятости вещей.
+ *
+ * @param lockStripes количество блокировок, между которыми распределяются вещи.
+ */
+@ConfigurationProperties (prefix = "shareit.booking.availability")
+public record AvailabilityProperties(@DefaultValue ("256") int lockStripes) {
+}
@@ -0,0 +1,163 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Дерево интервалов бронирований одной вещи.
+ * <p>
+ * Декартово дерево (treap) по ключу (начало, ID бронирования), каждый узел которого хранит
+ * максимальный конец интервала в своём поддереве. Интервалы полуоткрытые: [start, end),
+ * границы — секунды эпохи. Вставка, удаление и поиск пересечения выполняются за O(log n).
+ * Класс не потокобезопасен, синхронизацию обеспечивает {@link ItemAvailabilityIndex}.
+ */
+final class BookingIntervalTree {
+
+    /**
+     * Значение, возвращаемое при отсутствии подходящего интервала.
+     */
+    static final long NONE = Long.MIN_VALUE;
+
+    private Node root;
+    private int size;
+
+    /**
+     * Добавляет интервал бронирования.
+     */
+    void insert(long bookingId, long start, long end) {
+        Node node = new Node(bookingId, start, end, ThreadLocalRandom.current().nextInt());
+        Node[] parts = split(root, start, bookingId);
+        root = merge(merge(parts[0], node), parts[1]);
+        size++;
+    }
+
+    /**
+     * Удаляет интервал бронирования.
+     *
+     * @return true, если интервал был найден и удалён.
+     */
+    boolean remove(long bookingId, long start) {
+        Node[] less = split(root, start, bookingId);
+        Node[] rest = split(less[1], start, bookingId + 1);
+        boolean removed = rest[0] != null;
+        if (removed) {
+            size--;
+        }
+        root = merge(less[0], rest[1]);
+        return removed;
+    }
+
+    /**
+     * Проверяет, пересекается ли интервал [start, end) хотя бы с одним интервалом дерева.
+     */
+    boolean overlaps(long start, long end) {
+        return findOverlapping(start, end) != null;
+    }
+
+    /**
+     * Возвращает конец какого-либо интервала, содержащего момент времени, или {@link #NONE}, если таких нет.
+     */
+    long endOfIntervalContaining(long instant) {
+        Node node = findOverlapping(instant, instant + 1);
+        return node == null ? NONE : node.end;
+    }
+
+    /**
+     * Возвращает наименьшее начало интервала, строго большее момента времени, или {@link #NONE}, если таких нет.
+     */
+    long nextStartAfter(long instant) {
+        long next = NONE;
+        Node node = root;
+        while (node != null) {
+            if (node.start > instant) {
+                next = node.start;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return next;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private Node findOverlapping(long start, long end) {
+        Node node = root;
+        while (node != null) {
+            if (node.start < end && node.end > start) {
+                return node;
+            }
+            if (node.left != null && node.left.maxEnd > start) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Делит дерево на узлы с ключом меньше (start, bookingId) и остальные.
+     */
+    private static Node[] split(Node node, long start, long bookingId) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (node.start < start || (node.start == start && node.bookingId < bookingId)) {
+            Node[] parts = split(node.right, start, bookingId);
+            node.right = parts[0];
+            node.update();
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, start, bookingId);
+        node.left = parts[1];
+        node.update();
+        return new Node[]{parts[0], node};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static final class Node {
+        final long bookingId;
+        final long start;
+        final long end;
+        final int priority;
+        long maxEnd;
+        Node left;
+        Node right;
+
+        Node(long bookingId, long start, long end, int priority) {
+            this.bookingId = bookingId;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd > maxEnd) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > maxEnd) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.BookingException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static ru.practicum.shareit.booking.availability.BookingIntervalTree.NONE;
+
+/**
+ * Индекс занятости вещей, хранящийся в памяти.
+ * <p>
+ * Для каждой вещи поддерживается дерево интервалов бронирований в статусах WAITING и APPROVED,
+ * по которому за O(log n) проверяется, свободна ли вещь на запрошенный период. Проверка и
+ * сохранение бронирования выполняются под блокировкой вещи, поэтому два одновременных
+ * бронирования одного периода не могут пройти оба. Блокировки распределены по вещам
+ * (lock striping), так что бронирования разных вещей друг друга почти не ждут.
+ * <p>
+ * Индекс также хранит готовую сводку бронирований каждой вещи ({@link ItemBookingSummary}),
+ * которая пересчитывается при создании, подтверждении и отклонении бронирования, а также
+ * по расписанию — в момент начала или окончания бронирования. При таком пересчёте закончившиеся
+ * бронирования удаляются из дерева вещи: на занятость они уже не влияют, а после перезапуска
+ * индекс их и так не загружает.
+ */
+@Slf4j
+@Component
+public class ItemAvailabilityIndex {
+
+    private static final Set<BookingStatus> BLOCKING_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final Lock[] locks;
+    private final Map<Long, ItemBookings> items = new ConcurrentHashMap<>();
+    private final Map<Long, ItemBookingSummary> summaries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Transition> transitions = new ConcurrentSkipListSet<>();
+
+    public ItemAvailabilityIndex(BookingRepository bookingRepository, AvailabilityProperties properties) {
+        this.bookingRepository = bookingRepository;
+        this.locks = new Lock[properties.lockStripes()];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Загружает в индекс актуальные бронирования из репозитория при старте приложения.
+     */
+    @EventListener (ApplicationReadyEvent.class)
+    public void rebuild() {
+        items.clear();
+        summaries.clear();
+        transitions.clear();
+        bookingRepository.findByStatusInAndEndAfter(BLOCKING_STATUSES, LocalDateTime.now()).forEach(booking ->
+                items.computeIfAbsent(booking.getItem().getId(), id -> new ItemBookings()).add(booking));
+        long now = toEpochSecond(LocalDateTime.now());
+        items.forEach((itemId, itemBookings) -> summarize(itemId, itemBookings, now));
+        log.info("Индекс занятости вещей построен: {} вещей", items.size());
+    }
+
+    /**
+     * Возвращает сводку бронирований вещи.
+     *
+     * @param itemId ID вещи.
+     * @return текущая сводка; пустая, если у вещи нет актуальных бронирований.
+     */
+    public ItemBookingSummary summary(long itemId) {
+        return summaries.getOrDefault(itemId, ItemBookingSummary.EMPTY);
+    }
+
+    /**
+     * Возвращает число вещей, для которых в индексе хранятся бронирования.
+     */
+    int indexedItemCount() {
+        return items.size();
+    }
+
+    /**
+     * Пересчитывает сводки вещей, у которых с прошлого запуска началось или закончилось бронирование,
+     * и удаляет закончившиеся бронирования из индекса.
+     */
+    @Scheduled (fixedDelayString = "${shareit.booking.availability.summary-refresh-interval:PT1S}")
+    public void refreshDueSummaries() {
+        long now = toEpochSecond(LocalDateTime.now());
+        Iterator<Transition> due = transitions.headSet(new Transition(now, Long.MAX_VALUE), true).iterator();
+        while (due.hasNext()) {
+            long itemId = due.next().itemId();
+            due.remove();
+            Lock lock = lockFor(itemId);
+            lock.lock();
+            try {
+                ItemBookings itemBookings = items.get(itemId);
+                if (itemBookings != null && itemBookings.removeEndedBy(now) && itemBookings.isEmpty()) {
+                    items.remove(itemId);
+                }
+                summarize(itemId, itemBookings, now);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Проверяет, что вещь свободна на период бронирования, и сохраняет бронирование.
+     *
+     * @param booking бронирование с заполненными вещью и периодом.
+     * @param persist действие, сохраняющее бронирование.
+     * @return сохранённое бронирование.
+     * @throws BookingException если период пересекается с другим бронированием вещи.
+     */
+    public Booking reserve(Booking booking, Supplier<Booking> persist) {
+        long itemId = booking.getItem().getId();
+        Lock lock = lockFor(itemId);
+        lock.lock();
+        try {
+            ItemBookings itemBookings = items.get(itemId);
+            if (itemBookings != null && itemBookings.overlaps(booking)) {
+                throw new BookingException(String.format("Вещь с id = %d уже забронирована на период с %s по %s",
+                        itemId, booking.getStart(), booking.getEnd()));
+            }
+            Booking saved = persist.get();
+            if (itemBookings == null) {
+                itemBookings = new ItemBookings();
+                items.put(itemId, itemBookings);
+            }
+            itemBookings.add(saved);
+            summarize(itemId, itemBookings, toEpochSecond(LocalDateTime.now()));
+            return saved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Освобождает период, занятый бронированием (например, после отклонения).
+     *
+     * @param booking бронирование.
+     */
+    public void release(Booking booking) {
+        release(booking.getItem().getId(), booking.getId());
+    }
+
+    /**
+     * Освобождает период, занятый бронированием вещи (например, перенесённым в архив).
+     *
+     * @param itemId    ID вещи.
+     * @param bookingId ID бронирования.
+     */
+    public void release(long itemId, long bookingId) {
+        Lock lock = lockFor(itemId);
+        lock.lock();
+        try {
+            ItemBookings itemBookings = items.get(itemId);
+            if (itemBookings != null && itemBookings.remove(bookingId)) {
+                if (itemBookings.isEmpty()) {
+                    items.remove(itemId);
+                }
+                summarize(itemId, itemBookings, toEpochSecond(LocalDateTime.now()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Пересчитывает сводку вещи на момент времени и планирует следующий пересчёт.
+     * Вызывается под блокировкой вещи.
+     */
+    private void summarize(long itemId, ItemBookings itemBookings, long now) {
+        long lastEnd = itemBookings == null ? NONE : itemBookings.tree.endOfIntervalContaining(now);
+        long nextStart = itemBookings == null ? NONE : itemBookings.tree.nextStartAfter(now);
+        if (lastEnd == NONE && nextStart == NONE) {
+            summaries.remove(itemId);
+            return;
+        }
+        summaries.put(itemId, new ItemBookingSummary(toDateTime(lastEnd), toDateTime(nextStart)));
+        long nextTransition = lastEnd == NONE ? nextStart : (nextStart == NONE ? lastEnd : Math.min(lastEnd, nextStart));
+        transitions.add(new Transition(nextTransition, itemId));
+    }
+
+    private Lock lockFor(long itemId) {
+        return locks[Math.floorMod(Long.hashCode(itemId), locks.length)];
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return epochSecond == NONE ? null : LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Момент времени, когда сводку вещи нужно пересчитать.
+     */
+    private record Transition(long at, long itemId) implements Comparable<Transition> {
+
+        @Override
+        public int compareTo(Transition other) {
+            int byTime = Long.compare(at, other.at);
+            return byTime != 0 ? byTime : Long.compare(itemId, other.itemId);
+        }
+    }
+
+    /**
+     * Окончание бронирования вещи.
+     */
+    private record Ending(long at, long bookingId) implements Comparable<Ending> {
+
+        @Override
+        public int compareTo(Ending other) {
+            int byTime = Long.compare(at, other.at);
+            return byTime != 0 ? byTime : Long.compare(bookingId, other.bookingId);
+        }
+    }
+
+    /**
+     * Бронирования одной вещи: дерево интервалов, начала интервалов по ID для удаления
+     * и окончания интервалов по времени для удаления закончившихся.
+     */
+    private static final class ItemBookings {
+        private final BookingIntervalTree tree = new BookingIntervalTree();
+        private final Map<Long, Long> starts = new HashMap<>();
+        private final Map<Long, Long> ends = new HashMap<>();
+        private final NavigableSet<Ending> endings = new TreeSet<>();
+
+        boolean overlaps(Booking booking) {
+            return tree.overlaps(toEpochSecond(booking.getStart()), toEpochSecond(booking.getEnd()));
+        }
+
+        void add(Booking booking) {
+            long start = toEpochSecond(booking.getStart());
+            long end = toEpochSecond(booking.getEnd());
+            tree.insert(booking.getId(), start, end);
+            starts.put(booking.getId(), start);
+            ends.put(booking.getId(), end);
+            endings.add(new Ending(end, booking.getId()));
+        }
+
+        boolean remove(long bookingId) {
+            Long start = starts.remove(bookingId);
+            Long end = ends.remove(bookingId);
+            if (end != null) {
+                endings.remove(new Ending(end, bookingId));
+            }
+            return start != null && tree.remove(bookingId, start);
+        }
+
+        /**
+         * Удаляет бронирования, закончившиеся не позже момента времени.
+         *
+         * @return {@code true}, если удалено хотя бы одно бронирование.
+         */
+        boolean removeEndedBy(long now) {
+            boolean removed = false;
+            while (! endings.isEmpty() && endings.first().at() <= now) {
+                removed |= remove(endings.first().bookingId());
+            }
+            return removed;
+        }
+
+        boolean isEmpty() {
+            return tree.size() == 0;
+        }
+    }
+}
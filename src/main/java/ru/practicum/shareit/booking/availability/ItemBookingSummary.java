@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+
+/**
+ * Сводка бронирований вещи на текущий момент.
+ * <p>
+ * Учитываются только бронирования в статусах WAITING и APPROVED — те же, что хранит
+ * {@link ItemAvailabilityIndex}. Отклонённые и отменённые бронирования в сводку не попадают,
+ * в отличие от прежнего расчёта по всей истории бронирований вещи. Время хранится с точностью до секунды.
+ *
+ * @param lastBooking окончание текущего бронирования или null, если вещь сейчас не забронирована.
+ * @param nextBooking начало ближайшего будущего бронирования или null, если таких нет.
+ */
+public record ItemBookingSummary(LocalDateTime lastBooking, LocalDateTime nextBooking) {
+
+    public static final ItemBookingSummary EMPTY = new ItemBookingSummary(null, null);
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+/**
+ * Владелец вещи и текущий статус бронирования — для объяснения, почему бронирование не удалось подтвердить.
+ *
+ * @param ownerId ID владельца забронированной вещи.
+ * @param status  текущий статус бронирования.
+ */
+public record BookingApprovalState(Long ownerId, BookingStatus status) {
+}
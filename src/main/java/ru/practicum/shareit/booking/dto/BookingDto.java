@@ -1,13 +1,16 @@
 package ru.practicum.shareit.booking.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Builder;
 import lombok.Data;
 import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.common.json.SparseFieldsFilter;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
 
+@JsonFilter (SparseFieldsFilter.NAME)
 @Builder
 @Data
 public class BookingDto {
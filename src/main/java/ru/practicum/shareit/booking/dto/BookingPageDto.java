@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.util.List;
+
+/**
+ * Страница бронирований и курсор следующей страницы (null, если страница последняя).
+ */
+public record BookingPageDto(List<BookingDto> bookings, String nextCursor) {
+}
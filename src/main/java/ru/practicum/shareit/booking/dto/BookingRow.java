@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemRow;
+
+import java.time.LocalDateTime;
+
+/**
+ * Плоская строка бронирования для списков: только столбцы, нужные {@link BookingDto}, без загрузки
+ * бронирования, вещи и пользователей в контекст персистентности.
+ */
+public record BookingRow(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status,
+                         Long itemId, String itemName, String itemDescription, Boolean itemAvailable, Long itemRequestId,
+                         Long ownerId, String ownerName, String ownerEmail,
+                         Long bookerId, String bookerName, String bookerEmail) {
+
+    /**
+     * Возвращает забронированную вещь в виде строки вещи.
+     *
+     * @return строка вещи.
+     */
+    public ItemRow item() {
+        return new ItemRow(itemId, itemName, itemDescription, itemAvailable, ownerId, ownerName, ownerEmail, itemRequestId);
+    }
+}
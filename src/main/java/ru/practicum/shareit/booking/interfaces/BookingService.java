@@ -1,10 +1,12 @@
 package ru.practicum.shareit.booking.interfaces;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.enums.BookingSearchState;
+import ru.practicum.shareit.common.batch.BatchResultDto;
 
-import java.util.Collection;
+import java.util.List;
 
 public interface BookingService {
 
@@ -12,9 +14,11 @@ public interface BookingService {
 
     BookingDto createBooking(long bookerId, CreateBookingDto bookingDto);
 
+    BatchResultDto<BookingDto> createBookings(long bookerId, List<CreateBookingDto> bookingDtos);
+
     BookingDto approveBooking(long bookingId, long ownerId, boolean approved);
 
-    Collection<BookingDto> getBookings(long bookerId, BookingSearchState state);
+    BookingPageDto getBookings(long bookerId, BookingSearchState state, String cursor, Integer size);
 
-    Collection<BookingDto> getOwnerBookings(long ownerId, BookingSearchState state);
+    BookingPageDto getOwnerBookings(long ownerId, BookingSearchState state, String cursor, Integer size);
 }
@@ -3,14 +3,19 @@ package ru.practicum.shareit.booking.mapper;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingRow;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.common.loader.LoadedEntities;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+
 /**
  * Утилитный класс для преобразования объектов Booking и BookingDto.
  */
@@ -21,23 +26,42 @@ public class BookingMapper {
      * Преобразует объект Booking в BookingDto.
      *
      * @param booking объект Booking.
+     * @param loaded  заранее загруженные вещи и пользователи.
      * @return объект BookingDto.
      */
-    public static BookingDto toBookingDto(Booking booking) {
+    public static BookingDto toBookingDto(Booking booking, LoadedEntities loaded) {
         if (booking == null) {
             throw new IllegalArgumentException("Booking не может быть null");
         }
 
         return BookingDto.builder()
-                .item(ItemMapper.mapToItemDto(booking.getItem()))
+                .item(ItemMapper.mapToItemDto(loaded.item(booking.getItem().getId()), loaded))
                 .start(booking.getStart())
                 .end(booking.getEnd())
-                .booker(UserMapper.toUserDto(booking.getBooker()))
+                .booker(UserMapper.toUserDto(loaded.user(booking.getBooker().getId())))
                 .id(booking.getId())
                 .status(booking.getStatus())
                 .build();
     }
 
+    /**
+     * Преобразует строку бронирования в BookingDto.
+     *
+     * @param row      строка бронирования.
+     * @param comments тексты комментариев к забронированной вещи.
+     * @return объект BookingDto.
+     */
+    public static BookingDto toBookingDto(BookingRow row, List<String> comments) {
+        return BookingDto.builder()
+                .item(ItemMapper.mapToItemDto(row.item(), comments))
+                .start(row.start())
+                .end(row.end())
+                .booker(UserDto.builder().id(row.bookerId()).name(row.bookerName()).email(row.bookerEmail()).build())
+                .id(row.id())
+                .status(row.status())
+                .build();
+    }
+
     /**
      * Преобразует CreateBookingDto в объект Booking.
      *
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.booking.migration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.batch.BatchProperties;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Миграция V5: заполняет {@code bookings.owner_id} у существующих бронирований.
+ * <p>
+ * Бронирования обновляются диапазонами ID по {@code shareit.batch.chunk-size} штук, каждый диапазон
+ * фиксируется отдельно, поэтому блокируются только строки текущей порции и ненадолго.
+ * Миграция выполняется вне общей транзакции Flyway и может быть безопасно перезапущена:
+ * уже заполненные строки пропускаются.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingOwnerBackfillMigration implements JavaMigration {
+
+    private static final String BACKFILL = " UPDATE bookings SET owner_id = (SELECT i.user_id FROM items i WHERE i.item_id = bookings.item_id) " +
+            " WHERE booking_id > ? AND booking_id <= ? AND owner_id IS NULL ";
+
+    private final BatchProperties batchProperties;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("5");
+    }
+
+    @Override
+    public String getDescription() {
+        return "backfill booking owner";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        long maxId = maxBookingId(connection);
+        int chunkSize = batchProperties.chunkSize();
+        long updated = 0;
+        try (PreparedStatement statement = connection.prepareStatement(BACKFILL)) {
+            for (long from = 0; from < maxId; from += chunkSize) {
+                statement.setLong(1, from);
+                statement.setLong(2, from + chunkSize);
+                updated += statement.executeUpdate();
+                if (! connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            }
+        }
+        log.info("Владелец вещи заполнен у {} бронирований", updated);
+    }
+
+    private static long maxBookingId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(booking_id), 0) FROM bookings")) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking.migration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.batch.BatchProperties;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Миграция V9.1: переносит бронирования в секционированную таблицу, созданную V9.
+ * <p>
+ * Бронирования переносятся диапазонами ID по {@code shareit.batch.chunk-size} штук, каждый диапазон
+ * фиксируется отдельно. Строки диапазона сначала блокируются в старой таблице, затем их копии,
+ * уже записанные триггером V9, заменяются текущими значениями, поэтому одновременные изменения
+ * не теряются и не дублируются. Блокируются только строки текущей порции; подмену таблиц
+ * под блокировкой выполняет V9.2. На базах без секционированной таблицы ничего не делает.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingPartitionCopyMigration implements JavaMigration {
+
+    private static final String LOCK_RANGE = " SELECT booking_id FROM bookings WHERE booking_id > ? AND booking_id <= ? FOR UPDATE ";
+
+    private static final String CLEAR_RANGE = " DELETE FROM bookings_partitioned WHERE booking_id > ? AND booking_id <= ? ";
+
+    private static final String COPY_RANGE = " INSERT INTO bookings_partitioned (booking_id, start_date, end_date, item_id, user_id, status, version, owner_id) " +
+            " SELECT booking_id, start_date, end_date, item_id, user_id, status, version, owner_id FROM bookings " +
+            " WHERE booking_id > ? AND booking_id <= ? ";
+
+    private final BatchProperties batchProperties;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("9.1");
+    }
+
+    @Override
+    public String getDescription() {
+        return "copy bookings to partitioned table";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        if (! "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()) || ! hasPartitionedTable(connection)) {
+            return;
+        }
+        long maxId = maxBookingId(connection);
+        int chunkSize = batchProperties.chunkSize();
+        long copied = 0;
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement lock = connection.prepareStatement(LOCK_RANGE);
+             PreparedStatement clear = connection.prepareStatement(CLEAR_RANGE);
+             PreparedStatement copy = connection.prepareStatement(COPY_RANGE)) {
+            for (long from = 0; from < maxId; from += chunkSize) {
+                for (PreparedStatement statement : new PreparedStatement[] {lock, clear, copy}) {
+                    statement.setLong(1, from);
+                    statement.setLong(2, from + chunkSize);
+                }
+                lock.executeQuery().close();
+                clear.executeUpdate();
+                copied += copy.executeUpdate();
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        log.info("В секционированную таблицу перенесено {} бронирований", copied);
+    }
+
+    private static boolean hasPartitionedTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT to_regclass('bookings_partitioned') IS NOT NULL")) {
+            result.next();
+            return result.getBoolean(1);
+        }
+    }
+
+    private static long maxBookingId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(booking_id), 0) FROM bookings")) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Бронирование, перенесённое в архив после окончания горизонта хранения.
+ * Строки архива только читаются: переносит их {@link ru.practicum.shareit.booking.archive.BookingArchiver}.
+ */
+@Getter
+@Setter
+@ToString
+@Entity
+@Table (name = "bookings_archive")
+@NoArgsConstructor
+public class ArchivedBooking {
+
+    @Id
+    @Column (name = "booking_id")
+    private Long id;
+
+    @Column (name = "start_date", nullable = false)
+    private LocalDateTime start;
+
+    @Column (name = "end_date", nullable = false)
+    private LocalDateTime end;
+
+    @ToString.Exclude
+    @ManyToOne (fetch = FetchType.LAZY, optional = false)
+    @JoinColumn (name = "item_id", nullable = false)
+    private Item item;
+
+    @ToString.Exclude
+    @ManyToOne (fetch = FetchType.LAZY, optional = false)
+    @JoinColumn (name = "user_id", nullable = false)
+    private User booker;
+
+    @Column (name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Enumerated (EnumType.STRING)
+    @Column (name = "status", length = 20, nullable = false)
+    private BookingStatus status;
+}
@@ -2,12 +2,17 @@ package ru.practicum.shareit.booking.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -31,7 +36,8 @@ import java.time.LocalDateTime;
 public class Booking {
 
     @Id
-    @GeneratedValue (strategy = GenerationType.IDENTITY)
+    @GeneratedValue (strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator (name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     @Column (name = "booking_id")
     private Long id;
 
@@ -41,15 +47,28 @@ public class Booking {
     @Column (name = "end_date", nullable = false)
     private LocalDateTime end;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne (fetch = FetchType.LAZY, optional = false)
     @JoinColumn (name = "item_id", nullable = false)
     private Item item;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne (fetch = FetchType.LAZY, optional = false)
     @JoinColumn (name = "user_id", nullable = false)
     private User booker;
 
-    @Column (name = "status", nullable = false)
+    /**
+     * ID владельца вещи, копия {@code items.user_id}: запросы владельца обходятся без соединения с вещами.
+     */
+    @Column (name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Enumerated (EnumType.STRING)
+    @Column (name = "status", length = 20, nullable = false)
     private BookingStatus status;
 
+    @Version
+    @Column (name = "version", nullable = false)
+    private Long version;
+
 }
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.booking.pagination;
+
+import ru.practicum.shareit.booking.dto.BookingRow;
+import ru.practicum.shareit.exception.BookingException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Курсор постраничной выдачи бронирований.
+ * <p>
+ * Курсор — непрозрачная для клиента строка, содержащая ключ сортировки последнего
+ * бронирования на странице: дату начала и ID. Следующая страница запрашивается
+ * поиском по этому ключу, без OFFSET. Первая страница начинается с курсора {@link #FIRST},
+ * дата которого позже любой даты бронирования, поэтому все страницы выбираются одним запросом.
+ * <p>
+ * Выдача, продолжающаяся в архиве, сначала проходит горячую таблицу, затем архив. Курсор архивной
+ * фазы помечается признаком {@code archived}, и такие страницы читаются только из архива.
+ *
+ * @param start    дата начала последнего бронирования на странице.
+ * @param id       ID последнего бронирования на странице.
+ * @param archived продолжать ли выдачу из архива.
+ */
+public record BookingCursor(LocalDateTime start, long id, boolean archived) {
+
+    public static final BookingCursor FIRST = new BookingCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), 0, false);
+
+    public static final BookingCursor ARCHIVE_FIRST = new BookingCursor(FIRST.start(), FIRST.id(), true);
+
+    private static final String SEPARATOR = "|";
+
+    private static final String ARCHIVED = "a";
+
+    /**
+     * Возвращает курсор, указывающий на бронирование.
+     *
+     * @param row      последнее бронирование страницы.
+     * @param archived прочитано ли бронирование из архива.
+     * @return курсор.
+     */
+    public static BookingCursor after(BookingRow row, boolean archived) {
+        return new BookingCursor(row.start(), row.id(), archived);
+    }
+
+    /**
+     * Преобразует курсор в строку.
+     *
+     * @return строка курсора.
+     */
+    public String encode() {
+        String raw = start + SEPARATOR + id + (archived ? SEPARATOR + ARCHIVED : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Преобразует строку в курсор.
+     *
+     * @param cursor строка курсора, может быть null для первой страницы.
+     * @return курсор, после которого продолжается выдача.
+     */
+    public static BookingCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(Pattern.quote(SEPARATOR), -1);
+            if (parts.length == 3 && ! ARCHIVED.equals(parts[2]) || parts.length < 2 || parts.length > 3) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new BookingCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]), parts.length == 3);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BookingException(String.format("Некорректный курсор: %s", cursor));
+        }
+    }
+}
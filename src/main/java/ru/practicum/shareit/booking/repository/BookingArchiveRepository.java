@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingRow;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.ArchivedBooking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static ru.practicum.shareit.booking.repository.BookingRepository.AFTER_CURSOR;
+import static ru.practicum.shareit.booking.repository.BookingRepository.ORDER_BY_START;
+
+public interface BookingArchiveRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    String ARCHIVED_ROW = " SELECT new ru.practicum.shareit.booking.dto.BookingRow(b.id, b.start, b.end, b.status, " +
+            " i.id, i.name, i.description, i.available, i.requestId, o.id, o.name, o.email, u.id, u.name, u.email) " +
+            " FROM ArchivedBooking b JOIN b.item i JOIN b.booker u JOIN User o ON o.id = b.ownerId ";
+
+    boolean existsByBookerIdAndItemId(long bookerId, long itemId);
+
+    @Query (ARCHIVED_ROW + " WHERE b.id = ?1 ")
+    Optional<BookingRow> findRowById(long bookingId);
+
+    @Query (ARCHIVED_ROW + " WHERE b.booker.id = ?1 " + AFTER_CURSOR + ORDER_BY_START)
+    List<BookingRow> findRowsByBookerId(long bookerId, LocalDateTime cursorStart, long cursorId, Limit limit);
+
+    @Query (ARCHIVED_ROW + " WHERE b.ownerId = ?1 " + AFTER_CURSOR + ORDER_BY_START)
+    List<BookingRow> findRowsByOwnerId(long ownerId, LocalDateTime cursorStart, long cursorId, Limit limit);
+
+    @Query (ARCHIVED_ROW + " WHERE b.booker.id = ?1 AND b.status = ?4 " + AFTER_CURSOR + ORDER_BY_START)
+    List<BookingRow> findRowsByBookerIdAndStatus(long bookerId, LocalDateTime cursorStart, long cursorId, BookingStatus status, Limit limit);
+
+    @Query (ARCHIVED_ROW + " WHERE b.ownerId = ?1 AND b.status = ?4 " + AFTER_CURSOR + ORDER_BY_START)
+    List<BookingRow> findRowsByOwnerIdAndStatus(long ownerId, LocalDateTime cursorStart, long cursorId, BookingStatus status, Limit limit);
+}
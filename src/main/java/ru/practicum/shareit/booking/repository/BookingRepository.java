@@ -1,6 +1,12 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingApprovalState;
+import ru.practicum.shareit.booking.dto.BookingRow;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
@@ -8,32 +14,91 @@ import ru.practicum.shareit.item.model.Item;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    String BOOKING_ROW = " SELECT new ru.practicum.shareit.booking.dto.BookingRow(b.id, b.start, b.end, b.status, " +
+            " i.id, i.name, i.description, i.available, i.requestId, o.id, o.name, o.email, u.id, u.name, u.email) " +
+            " FROM Booking b JOIN b.item i JOIN b.booker u JOIN User o ON o.id = b.ownerId ";
+
+    /**
+     * Продолжение выдачи после курсора ({@code ?2} — дата начала, {@code ?3} — ID последнего бронирования).
+     * Условие {@code b.start <= ?2} вынесено отдельно, чтобы поиск шёл по индексу диапазоном дат,
+     * а не проверкой OR по каждой строке.
+     */
+    String AFTER_CURSOR = " AND b.start <= ?2 AND (b.start < ?2 OR b.id > ?3) ";
+
+    String ORDER_BY_START = " ORDER BY b.start DESC, b.id ";
+
     List<Booking> findByItemId(long itemId);
 
     List<Booking> findByItemIn(Collection<Item> items);
 
-    List<Booking> findByBookerIdOrderByStartDesc(long bookerId);
+    List<Booking> findByStatusInAndEndAfter(Collection<BookingStatus> statuses, LocalDateTime after);
 
-    List<Booking> findByItemOwnerIdOrderByStartDesc(long ownerId);
+    /**
+     * Переводит бронирование в новый статус одним запросом, если оно находится в ожидаемом статусе
+     * и забронированная вещь принадлежит пользователю.
+     *
+     * @return число изменённых строк: 1 — статус изменён, 0 — условие не выполнено.
+     */
+    @Transactional
+    @Modifying (flushAutomatically = true, clearAutomatically = true)
+    @Query (" UPDATE Booking b SET b.status = ?4, b.version = b.version + 1 " +
+            " WHERE b.id = ?1 AND b.ownerId = ?2 AND b.status = ?3 ")
+    int updateStatusIfOwner(long bookingId, long ownerId, BookingStatus expected, BookingStatus status);
+
+    @Query (" SELECT new ru.practicum.shareit.booking.dto.BookingApprovalState(b.ownerId, b.status) FROM Booking b WHERE b.id = ?1 ")
+    Optional<BookingApprovalState> findApprovalStateById(long bookingId);
 
     List<Booking> findByBookerIdAndItemId(long bookerId, long itemId);
 
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(long bookerId, BookingStatus status);
+    /**
+     * Таблица bookings в PostgreSQL секционирована по end_date, поэтому каждый запрос списка ограничивает
+     * end_date хотя бы с одной стороны: будущие и текущие бронирования заканчиваются позже ?4, а остальные
+     * не раньше горизонта хранения. Бронирования, закончившиеся раньше горизонта, но ещё не перенесённые
+     * в архив, читаются вместе с архивом запросами find*EndedBefore.
+     */
+    @Query (BOOKING_ROW + " WHERE b.booker.id = ?1 AND b.end >= ?4 " + AFTER_CURSOR + ORDER_BY_START)
+    List<BookingRow> findRowsByBookerId(long bookerId, LocalDateTime cursorStart, long cursorId, LocalDateTime horizon, Limit limit);
+
+    @Query (BOOKING_ROW + " WHERE b.booker.id = ?1 AND b.end < ?4 " + AFTER_CURSOR + ORDER_BY_START)
+    List<BookingRow> findRowsByBookerIdEndedBefore(long bookerId, LocalDateTime cursorStart, long cursorId, LocalDateTime horizon, Limit limit);
+
+    @Query (BOOKING_ROW + " WHERE b.booker.id = ?1 AND b.end < ?4 AND b.end >= ?5 " + AFTER_CURSOR + ORDER_BY_START)
+    List<BookingRow> findPastRowsByBookerId(long bookerId, LocalDateTime cursorStart, long cursorId, LocalDateTime now, LocalDateTime horizon, Limit limit);
+
+    @Query (BOOKING_ROW + " WHERE b.booker.id = ?1 AND b.start > ?4 AND b.end > ?4 " + AFTER_CURSOR + ORDER_BY_START)
+    List<BookingRow> findFutureRowsByBookerId(long bookerId, LocalDateTime cursorStart, long cursorId, LocalDateTime now, Limit limit);
+
+    @Query (BOOKING_ROW + " WHERE b.booker.id = ?1 AND b.start < ?4 AND b.end > ?4 " + AFTER_CURSOR + ORDER_BY_START)
+    List<BookingRow> findCurrentRowsByBookerId(long bookerId, LocalDateTime cursorStart, long cursorId, LocalDateTime now, Limit limit);
+
+    @Query (BOOKING_ROW + " WHERE b.booker.id = ?1 AND b.status = ?4 AND b.end >= ?5 " + AFTER_CURSOR + ORDER_BY_START)
+    List<BookingRow> findRowsByBookerIdAndStatus(long bookerId, LocalDateTime cursorStart, long cursorId, BookingStatus status, LocalDateTime horizon, Limit limit);
+
+    @Query (BOOKING_ROW + " WHERE b.booker.id = ?1 AND b.status = ?4 AND b.end < ?5 " + AFTER_CURSOR + ORDER_BY_START)
+    List<BookingRow> findRowsByBookerIdAndStatusEndedBefore(long bookerId, LocalDateTime cursorStart, long cursorId, BookingStatus status, LocalDateTime horizon, Limit limit);
 
-    List<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(long ownerId, BookingStatus status);
+    @Query (BOOKING_ROW + " WHERE b.ownerId = ?1 AND b.end >= ?4 " + AFTER_CURSOR + ORDER_BY_START)
+    List<BookingRow> findRowsByOwnerId(long ownerId, LocalDateTime cursorStart, long cursorId, LocalDateTime horizon, Limit limit);
 
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(long bookerId, LocalDateTime before);
+    @Query (BOOKING_ROW + " WHERE b.ownerId = ?1 AND b.end < ?4 " + AFTER_CURSOR + ORDER_BY_START)
+    List<BookingRow> findRowsByOwnerIdEndedBefore(long ownerId, LocalDateTime cursorStart, long cursorId, LocalDateTime horizon, Limit limit);
 
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(long bookerId, LocalDateTime after);
+    @Query (BOOKING_ROW + " WHERE b.ownerId = ?1 AND b.end < ?4 AND b.end >= ?5 " + AFTER_CURSOR + ORDER_BY_START)
+    List<BookingRow> findPastRowsByOwnerId(long ownerId, LocalDateTime cursorStart, long cursorId, LocalDateTime now, LocalDateTime horizon, Limit limit);
 
-    List<Booking> findByItemOwnerIdAndStartAfterOrderByStartDesc(long ownerId, LocalDateTime after);
+    @Query (BOOKING_ROW + " WHERE b.ownerId = ?1 AND b.start > ?4 AND b.end > ?4 " + AFTER_CURSOR + ORDER_BY_START)
+    List<BookingRow> findFutureRowsByOwnerId(long ownerId, LocalDateTime cursorStart, long cursorId, LocalDateTime now, Limit limit);
 
-    List<Booking> findByItemOwnerIdAndEndBeforeOrderByStartDesc(long ownerId, LocalDateTime before);
+    @Query (BOOKING_ROW + " WHERE b.ownerId = ?1 AND b.start < ?4 AND b.end > ?4 " + AFTER_CURSOR + ORDER_BY_START)
+    List<BookingRow> findCurrentRowsByOwnerId(long ownerId, LocalDateTime cursorStart, long cursorId, LocalDateTime now, Limit limit);
 
-    List<Booking> findByBookerIdAndStartAfterAndEndBeforeOrderByStartDesc(long bookerId, LocalDateTime after, LocalDateTime before);
+    @Query (BOOKING_ROW + " WHERE b.ownerId = ?1 AND b.status = ?4 AND b.end >= ?5 " + AFTER_CURSOR + ORDER_BY_START)
+    List<BookingRow> findRowsByOwnerIdAndStatus(long ownerId, LocalDateTime cursorStart, long cursorId, BookingStatus status, LocalDateTime horizon, Limit limit);
 
-    List<Booking> findByItemOwnerIdAndStartAfterAndEndBeforeOrderByStartDesc(long ownerId, LocalDateTime after, LocalDateTime before);
+    @Query (BOOKING_ROW + " WHERE b.ownerId = ?1 AND b.status = ?4 AND b.end < ?5 " + AFTER_CURSOR + ORDER_BY_START)
+    List<BookingRow> findRowsByOwnerIdAndStatusEndedBefore(long ownerId, LocalDateTime cursorStart, long cursorId, BookingStatus status, LocalDateTime horizon, Limit limit);
 }
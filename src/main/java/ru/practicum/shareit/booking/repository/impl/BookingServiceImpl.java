@@ -1,28 +1,52 @@
 package ru.practicum.shareit.booking.repository.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.archive.ArchiveProperties;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingApprovalState;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingRow;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.enums.BookingSearchState;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.interfaces.BookingService;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.pagination.BookingCursor;
+import ru.practicum.shareit.booking.repository.BookingArchiveRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.stream.BookingChangedEvent;
+import ru.practicum.shareit.common.batch.BatchExecutor;
+import ru.practicum.shareit.common.batch.BatchResultDto;
+import ru.practicum.shareit.common.batch.BatchRow;
+import ru.practicum.shareit.common.loader.EntityBatchLoader;
+import ru.practicum.shareit.common.loader.LoadedEntities;
+import ru.practicum.shareit.common.transaction.TransactionCallbacks;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.BookingException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemRow;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemService;
 import ru.practicum.shareit.user.interfaces.UserService;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Реализация интерфейса BookingService.
@@ -30,13 +54,22 @@ import java.util.Collection;
  */
 @Slf4j
 @Service
+@Timed (value = "shareit.service", histogram = true)
 @FieldDefaults (level = AccessLevel.PRIVATE, makeFinal = true)
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    private static final Comparator<BookingRow> ROW_ORDER = Comparator.comparing(BookingRow::start).reversed().thenComparing(BookingRow::id);
+
     ItemService itemService;
     UserService userRepository;
     BookingRepository bookingRepository;
+    BookingArchiveRepository archiveRepository;
+    ArchiveProperties archiveProperties;
+    ItemAvailabilityIndex availabilityIndex;
+    EntityBatchLoader batchLoader;
+    BatchExecutor batchExecutor;
+    ApplicationEventPublisher eventPublisher;
 
     /**
      * Создает новое бронирование.
@@ -46,92 +79,173 @@ public class BookingServiceImpl implements BookingService {
      * @return созданное бронирование в виде BookingDto
      */
     @Override
+    @Transactional
     public BookingDto createBooking(long bookerId, CreateBookingDto bookingDto) {
         Booking booking = BookingMapper.toBooking(bookerId, bookingDto);
-        User booker = userRepository.findById(bookerId)
-                .orElseThrow(() -> new NotFoundException(String.format("Пользователь с id = %d не найден", bookerId)));
+        validatePeriod(booking);
+        if (userRepository.findRowById(bookerId).isEmpty()) {
+            throw new NotFoundException(String.format("Пользователь с id = %d не найден", bookerId));
+        }
         Long itemId = booking.getItem().getId();
-        Item item = itemService.findById(itemId)
+        ItemRow item = itemService.findRowById(itemId)
                 .orElseThrow(() -> new NotFoundException(String.format("Вещь с id = %d не найдена", itemId)));
-        if (! item.getAvailable()) {
-            throw new BookingException(String.format("Вещь с id = %d недоступна для бронирования", itemId));
-        }
-        booking.setBooker(booker);
-        booking.setItem(item);
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        requireAvailable(itemId, item.available());
+        booking.setBooker(userRepository.getReference(bookerId));
+        booking.setItem(itemService.getReference(itemId));
+        booking.setOwnerId(item.ownerId());
+        Booking saved = availabilityIndex.reserve(booking, () -> bookingRepository.save(booking));
+        TransactionCallbacks.afterRollback(() -> availabilityIndex.release(saved));
+        return published(saved, toBookingDto(saved));
+    }
+
+    /**
+     * Пакетно создает бронирования. Бронирования с ошибками валидации, с недоступной вещью
+     * или пересекающиеся с уже занятыми периодами отклоняются, остальные сохраняются пакетными вставками.
+     *
+     * @param bookerId    ID пользователя, совершающего бронирования
+     * @param bookingDtos детали бронирований
+     * @return созданные бронирования и ошибки по отклонённым элементам
+     */
+    @Override
+    public BatchResultDto<BookingDto> createBookings(long bookerId, List<CreateBookingDto> bookingDtos) {
+        User booker = userRepository.findById(bookerId)
+                .orElseThrow(() -> new NotFoundException(String.format("Пользователь с id = %d не найден", bookerId)));
+        return batchExecutor.execute(bookingDtos, (chunk, reject) -> {
+            Map<Long, Item> items = itemService.findAllById(chunk.stream().map(row -> row.value().itemId()).distinct().toList()).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            List<Booking> saved = new ArrayList<>(chunk.size());
+            TransactionCallbacks.afterRollback(() -> saved.forEach(availabilityIndex::release));
+            for (BatchRow<CreateBookingDto> row : chunk) {
+                Booking booking = BookingMapper.toBooking(bookerId, row.value());
+                try {
+                    validatePeriod(booking);
+                    booking.setBooker(booker);
+                    Item item = items.get(row.value().itemId());
+                    if (item == null) {
+                        throw new NotFoundException(String.format("Вещь с id = %d не найдена", row.value().itemId()));
+                    }
+                    requireAvailable(item.getId(), item.getAvailable());
+                    booking.setItem(item);
+                    booking.setOwnerId(booking.getItem().getOwner().getId());
+                    saved.add(availabilityIndex.reserve(booking, () -> bookingRepository.save(booking)));
+                } catch (BookingException | NotFoundException e) {
+                    reject.accept(row, e.getMessage());
+                }
+            }
+            LoadedEntities loaded = batchLoader.forBookings(saved);
+            return saved.stream().map(booking -> published(booking, BookingMapper.toBookingDto(booking, loaded))).toList();
+        });
     }
 
     /**
-     * Получает бронирование по его ID.
+     * Получает бронирование по его ID. Бронирование, которого нет в горячей таблице, ищется в архиве.
      *
      * @param bookingId ID бронирования
      * @param userId    ID пользователя, запрашивающего бронирование
      * @return бронирование в виде BookingDto
      */
     @Override
+    @Transactional (readOnly = true)
     public BookingDto getBooking(long bookingId, long userId) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new NotFoundException(String.format("Бронь с id = %d не найдена", bookingId)));
-        if (booking.getBooker().getId() != userId && booking.getItem().getOwner().getId() != userId) {
-            throw new AccessDeniedException(String.format("Доступ к брони с id = %d запрещен", bookingId));
+        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        if (booking != null) {
+            requireParticipant(bookingId, userId, booking.getBooker().getId(), booking.getItem().getOwner().getId());
+            return toBookingDto(booking);
         }
-        return BookingMapper.toBookingDto(booking);
+        BookingRow archived = archiveRepository.findRowById(bookingId)
+                .orElseThrow(() -> new NotFoundException(String.format("Бронь с id = %d не найдена", bookingId)));
+        requireParticipant(bookingId, userId, archived.bookerId(), archived.ownerId());
+        return toBookingDtos(List.of(archived)).getFirst();
     }
 
     /**
-     * Получает все бронирования, сделанные пользователем, с фильтрацией по состоянию.
+     * Получает страницу бронирований, сделанных пользователем, с фильтрацией по состоянию.
      *
      * @param bookerId ID пользователя
      * @param state    состояние для фильтрации бронирований
-     * @return коллекция объектов BookingDto
+     * @param cursor   курсор предыдущей страницы или null для первой страницы
+     * @param size     размер страницы или null, чтобы получить все бронирования
+     * @return страница объектов BookingDto
      */
     @Override
-    public Collection<BookingDto> getBookings(long bookerId, BookingSearchState state) {
-        if (! userRepository.existsById(bookerId)) {
+    @Transactional (readOnly = true)
+    public BookingPageDto getBookings(long bookerId, BookingSearchState state, String cursor, Integer size) {
+        if (userRepository.findRowById(bookerId).isEmpty()) {
             throw new NotFoundException(String.format("Пользователь с id = %d не найден", bookerId));
         }
-        Collection<Booking> bookings = switch (state) {
-            case ALL -> bookingRepository.findByBookerIdOrderByStartDesc(bookerId);
-            case PAST -> bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(bookerId, LocalDateTime.now());
-            case FUTURE -> bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(bookerId, LocalDateTime.now());
-            case CURRENT ->
-                    bookingRepository.findByBookerIdAndStartAfterAndEndBeforeOrderByStartDesc(bookerId, LocalDateTime.now(), LocalDateTime.now());
-            case WAITING -> bookingRepository.findByBookerIdAndStatusOrderByStartDesc(bookerId, BookingStatus.WAITING);
-            case REJECTED ->
-                    bookingRepository.findByBookerIdAndStatusOrderByStartDesc(bookerId, BookingStatus.REJECTED);
+        BookingCursor after = BookingCursor.decode(cursor);
+        Limit limit = toLimit(size);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = after.start();
+        long id = after.id();
+        LocalDateTime horizon = now.minus(archiveProperties.horizon());
+        RowQuery archived = merged(
+                (from, fromId, rowLimit) -> archiveRepository.findRowsByBookerId(bookerId, from, fromId, rowLimit),
+                (from, fromId, rowLimit) -> bookingRepository.findRowsByBookerIdEndedBefore(bookerId, from, fromId, horizon, rowLimit));
+        return switch (state) {
+            case ALL -> toPage(after, size, archived,
+                    (from, fromId, rowLimit) -> bookingRepository.findRowsByBookerId(bookerId, from, fromId, horizon, rowLimit));
+            case PAST -> toPage(after, size, archived,
+                    (from, fromId, rowLimit) -> bookingRepository.findPastRowsByBookerId(bookerId, from, fromId, now, horizon, rowLimit));
+            case FUTURE -> toPage(bookingRepository.findFutureRowsByBookerId(bookerId, start, id, now, limit), size);
+            case CURRENT -> toPage(bookingRepository.findCurrentRowsByBookerId(bookerId, start, id, now, limit), size);
+            case WAITING, REJECTED -> {
+                BookingStatus status = BookingStatus.valueOf(state.name());
+                yield toPage(after, size,
+                        merged((from, fromId, rowLimit) -> archiveRepository.findRowsByBookerIdAndStatus(bookerId, from, fromId, status, rowLimit),
+                                (from, fromId, rowLimit) -> bookingRepository.findRowsByBookerIdAndStatusEndedBefore(bookerId, from, fromId, status, horizon, rowLimit)),
+                        (from, fromId, rowLimit) -> bookingRepository.findRowsByBookerIdAndStatus(bookerId, from, fromId, status, horizon, rowLimit));
+            }
         };
-        return bookings.stream().map(BookingMapper::toBookingDto).toList();
     }
 
     /**
-     * Получает все бронирования для вещей, принадлежащих пользователю, с фильтрацией по состоянию.
+     * Получает страницу бронирований для вещей, принадлежащих пользователю, с фильтрацией по состоянию.
      *
      * @param ownerId ID пользователя
      * @param state   состояние для фильтрации бронирований
-     * @return коллекция объектов BookingDto
+     * @param cursor  курсор предыдущей страницы или null для первой страницы
+     * @param size    размер страницы или null, чтобы получить все бронирования
+     * @return страница объектов BookingDto
      */
     @Override
-    public Collection<BookingDto> getOwnerBookings(long ownerId, BookingSearchState state) {
-        if (! userRepository.existsById(ownerId)) {
+    @Transactional (readOnly = true)
+    public BookingPageDto getOwnerBookings(long ownerId, BookingSearchState state, String cursor, Integer size) {
+        if (userRepository.findRowById(ownerId).isEmpty()) {
             throw new NotFoundException(String.format("Пользователь с id = %d не найден", ownerId));
         }
-        Collection<Booking> bookings = switch (state) {
-            case ALL -> bookingRepository.findByItemOwnerIdOrderByStartDesc(ownerId);
-            case PAST -> bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDesc(ownerId, LocalDateTime.now());
-            case FUTURE ->
-                    bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDesc(ownerId, LocalDateTime.now());
-            case CURRENT ->
-                    bookingRepository.findByItemOwnerIdAndStartAfterAndEndBeforeOrderByStartDesc(ownerId, LocalDateTime.now(), LocalDateTime.now());
-            case WAITING ->
-                    bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.WAITING);
-            case REJECTED ->
-                    bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.REJECTED);
+        BookingCursor after = BookingCursor.decode(cursor);
+        Limit limit = toLimit(size);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = after.start();
+        long id = after.id();
+        LocalDateTime horizon = now.minus(archiveProperties.horizon());
+        RowQuery archived = merged(
+                (from, fromId, rowLimit) -> archiveRepository.findRowsByOwnerId(ownerId, from, fromId, rowLimit),
+                (from, fromId, rowLimit) -> bookingRepository.findRowsByOwnerIdEndedBefore(ownerId, from, fromId, horizon, rowLimit));
+        return switch (state) {
+            case ALL -> toPage(after, size, archived,
+                    (from, fromId, rowLimit) -> bookingRepository.findRowsByOwnerId(ownerId, from, fromId, horizon, rowLimit));
+            case PAST -> toPage(after, size, archived,
+                    (from, fromId, rowLimit) -> bookingRepository.findPastRowsByOwnerId(ownerId, from, fromId, now, horizon, rowLimit));
+            case FUTURE -> toPage(bookingRepository.findFutureRowsByOwnerId(ownerId, start, id, now, limit), size);
+            case CURRENT -> toPage(bookingRepository.findCurrentRowsByOwnerId(ownerId, start, id, now, limit), size);
+            case WAITING, REJECTED -> {
+                BookingStatus status = BookingStatus.valueOf(state.name());
+                yield toPage(after, size,
+                        merged((from, fromId, rowLimit) -> archiveRepository.findRowsByOwnerIdAndStatus(ownerId, from, fromId, status, rowLimit),
+                                (from, fromId, rowLimit) -> bookingRepository.findRowsByOwnerIdAndStatusEndedBefore(ownerId, from, fromId, status, horizon, rowLimit)),
+                        (from, fromId, rowLimit) -> bookingRepository.findRowsByOwnerIdAndStatus(ownerId, from, fromId, status, horizon, rowLimit));
+            }
         };
-        return bookings.stream().map(BookingMapper::toBookingDto).toList();
     }
 
     /**
      * Подтверждает или отклоняет бронирование.
+     * <p>
+     * Статус меняется одним условным запросом, который срабатывает, только если бронирование ожидает
+     * решения и вещь принадлежит владельцу, поэтому одновременные решения не перезаписывают друг друга.
+     * Если запрос ничего не изменил, причина выясняется отдельным запросом.
      *
      * @param bookingId ID бронирования
      * @param ownerId   ID владельца
@@ -139,13 +253,210 @@ public class BookingServiceImpl implements BookingService {
      * @return обновленное бронирование в виде BookingDto
      */
     @Override
+    @Transactional
     public BookingDto approveBooking(long bookingId, long ownerId, boolean approved) {
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        if (bookingRepository.updateStatusIfOwner(bookingId, ownerId, BookingStatus.WAITING, status) == 0) {
+            throw rejectionOf(bookingId, ownerId);
+        }
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException(String.format("Бронь с id = %d не найдена", bookingId)));
-        if (booking.getItem().getOwner().getId() != ownerId) {
-            throw new AccessDeniedException(String.format("Подтверждение брони с id = %d пользователем с id = %d запрещено", bookingId, ownerId));
+        if (! approved) {
+            TransactionCallbacks.afterCommit(() -> availabilityIndex.release(booking));
+        }
+        return published(booking, toBookingDto(booking));
+    }
+
+    /**
+     * Определяет, почему бронирование не удалось подтвердить или отклонить.
+     *
+     * @param bookingId ID бронирования
+     * @param ownerId   ID владельца
+     * @return исключение, описывающее причину
+     */
+    private RuntimeException rejectionOf(long bookingId, long ownerId) {
+        BookingApprovalState state = bookingRepository.findApprovalStateById(bookingId).orElse(null);
+        if (state == null) {
+            return new NotFoundException(String.format("Бронь с id = %d не найдена", bookingId));
+        }
+        if (state.ownerId() != ownerId) {
+            return new AccessDeniedException(String.format("Подтверждение брони с id = %d пользователем с id = %d запрещено", bookingId, ownerId));
+        }
+        return new BookingException(String.format("Решение по брони с id = %d уже принято, текущий статус: %s", bookingId, state.status()));
+    }
+
+    /**
+     * Проверяет, что пользователь — автор бронирования или владелец забронированной вещи.
+     *
+     * @param bookingId ID бронирования
+     * @param userId    ID пользователя, запрашивающего бронирование
+     * @param bookerId  ID автора бронирования
+     * @param ownerId   ID владельца вещи
+     */
+    private static void requireParticipant(long bookingId, long userId, long bookerId, long ownerId) {
+        if (bookerId != userId && ownerId != userId) {
+            throw new AccessDeniedException(String.format("Доступ к брони с id = %d запрещен", bookingId));
+        }
+    }
+
+    /**
+     * Проверяет, что дата начала бронирования раньше даты окончания.
+     *
+     * @param booking бронирование
+     */
+    private static void validatePeriod(Booking booking) {
+        if (! booking.getStart().isBefore(booking.getEnd())) {
+            throw new BookingException("Дата начала бронирования должна быть раньше даты окончания");
+        }
+    }
+
+    /**
+     * Проверяет, что вещь доступна для бронирования.
+     *
+     * @param itemId    ID вещи
+     * @param available флаг доступности вещи
+     */
+    private static void requireAvailable(Long itemId, Boolean available) {
+        if (! available) {
+            throw new BookingException(String.format("Вещь с id = %d недоступна для бронирования", itemId));
         }
-        booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+    }
+
+    /**
+     * Преобразует размер страницы в ограничение выборки. Выбирается на одну строку больше размера
+     * страницы, чтобы узнать, есть ли следующая страница.
+     *
+     * @param size размер страницы или null
+     * @return ограничение выборки
+     */
+    private static Limit toLimit(Integer size) {
+        if (size != null && size <= 0) {
+            throw new BookingException(String.format("Размер страницы должен быть положительным, получено: %d", size));
+        }
+        return size == null ? Limit.unlimited() : Limit.of(size + 1);
+    }
+
+    /**
+     * Преобразует бронирование в BookingDto, загружая связанные сущности пакетно.
+     *
+     * @param booking бронирование
+     * @return объект BookingDto
+     */
+    private BookingDto toBookingDto(Booking booking) {
+        return BookingMapper.toBookingDto(booking, batchLoader.forBookings(List.of(booking)));
+    }
+
+    /**
+     * Публикует событие об изменении бронирования для потока событий владельца.
+     *
+     * @param booking бронирование
+     * @param dto     бронирование в виде BookingDto
+     * @return объект BookingDto
+     */
+    private BookingDto published(Booking booking, BookingDto dto) {
+        eventPublisher.publishEvent(new BookingChangedEvent(booking.getOwnerId(), dto));
+        return dto;
+    }
+
+    /**
+     * Преобразует строки выборки в страницу с курсором на последний элемент.
+     *
+     * @param rows строки бронирований, на одну больше размера страницы, если есть следующая страница
+     * @param size размер страницы или null
+     * @return страница объектов BookingDto
+     */
+    private BookingPageDto toPage(List<BookingRow> rows, Integer size) {
+        boolean hasNext = size != null && rows.size() > size;
+        List<BookingRow> page = hasNext ? rows.subList(0, size) : rows;
+        return toPage(page, hasNext ? BookingCursor.after(page.getLast(), false) : null);
+    }
+
+    /**
+     * Получает страницу бронирований, продолжающуюся в архиве.
+     * <p>
+     * Пока в горячей таблице есть бронирования после курсора, страница читается только из неё.
+     * Страница, на которой горячая таблица заканчивается, добирается из начала архива, а все
+     * следующие страницы получают курсор архивной фазы и читаются только из архива. Горячая выборка
+     * читает бронирования, закончившиеся не раньше горизонта хранения, а архивная — архив вместе
+     * с ещё не перенесёнными в него бронированиями старше горизонта, поэтому выдача не содержит
+     * повторов, а к архиву обращаются только запросы старых страниц.
+     *
+     * @param after    курсор предыдущей страницы
+     * @param size     размер страницы или null
+     * @param archived выборка из архива
+     * @param hot      выборка из горячей таблицы
+     * @return страница объектов BookingDto
+     */
+    private BookingPageDto toPage(BookingCursor after, Integer size, RowQuery archived, RowQuery hot) {
+        if (after.archived()) {
+            List<BookingRow> rows = archived.find(after.start(), after.id(), toLimit(size));
+            boolean hasNext = size != null && rows.size() > size;
+            List<BookingRow> page = hasNext ? rows.subList(0, size) : rows;
+            return toPage(page, hasNext ? BookingCursor.after(page.getLast(), true) : null);
+        }
+        List<BookingRow> hotRows = hot.find(after.start(), after.id(), toLimit(size));
+        if (size != null && hotRows.size() > size) {
+            return toPage(hotRows, size);
+        }
+        Integer remaining = size == null ? null : size - hotRows.size();
+        Limit archiveLimit = remaining == null ? Limit.unlimited() : Limit.of(remaining + 1);
+        List<BookingRow> archivedRows = archived.find(BookingCursor.FIRST.start(), BookingCursor.FIRST.id(), archiveLimit);
+        boolean hasNext = remaining != null && archivedRows.size() > remaining;
+        List<BookingRow> page = new ArrayList<>(hotRows);
+        page.addAll(hasNext ? archivedRows.subList(0, remaining) : archivedRows);
+        BookingCursor next = null;
+        if (hasNext) {
+            next = remaining == 0 ? BookingCursor.ARCHIVE_FIRST : BookingCursor.after(page.getLast(), true);
+        }
+        return toPage(page, next);
+    }
+
+    /**
+     * Преобразует строки страницы в BookingPageDto.
+     *
+     * @param page строки бронирований страницы
+     * @param next курсор следующей страницы или null, если страница последняя
+     * @return страница объектов BookingDto
+     */
+    private BookingPageDto toPage(List<BookingRow> page, BookingCursor next) {
+        return new BookingPageDto(toBookingDtos(page), next == null ? null : next.encode());
+    }
+
+    /**
+     * Преобразует строки бронирований в BookingDto, загружая комментарии к вещам одним запросом.
+     *
+     * @param rows строки бронирований
+     * @return объекты BookingDto в исходном порядке
+     */
+    private List<BookingDto> toBookingDtos(List<BookingRow> rows) {
+        Map<Long, List<String>> comments = batchLoader.commentTexts(rows.stream().map(BookingRow::itemId).collect(Collectors.toSet()));
+        return rows.stream()
+                .map(row -> BookingMapper.toBookingDto(row, comments.getOrDefault(row.itemId(), List.of())))
+                .toList();
+    }
+
+    /**
+     * Объединяет две выборки в одну в порядке выдачи.
+     *
+     * @param first  первая выборка
+     * @param second вторая выборка
+     * @return выборка, возвращающая не больше строк, чем разрешает лимит
+     */
+    private static RowQuery merged(RowQuery first, RowQuery second) {
+        return (cursorStart, cursorId, limit) -> {
+            List<BookingRow> rows = new ArrayList<>(first.find(cursorStart, cursorId, limit));
+            rows.addAll(second.find(cursorStart, cursorId, limit));
+            rows.sort(ROW_ORDER);
+            return limit.isLimited() && rows.size() > limit.max() ? rows.subList(0, limit.max()) : rows;
+        };
+    }
+
+    /**
+     * Выборка строк бронирований после курсора.
+     */
+    @FunctionalInterface
+    private interface RowQuery {
+
+        List<BookingRow> find(LocalDateTime cursorStart, long cursorId, Limit limit);
     }
 }
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.stream;
+
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+/**
+ * Событие создания бронирования или изменения его статуса.
+ *
+ * @param ownerId ID владельца забронированной вещи.
+ * @param booking бронирование после изменения.
+ */
+public record BookingChangedEvent(long ownerId, BookingDto booking) {
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.stream;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Настройки потока событий бронирований для владельцев.
+ *
+ * @param bufferSize сколько неотправленных событий хранится для одного подписчика; при переполнении
+ *                   отбрасываются самые старые.
+ * @param timeout    время жизни подключения, после которого клиент переподключается.
+ */
+@ConfigurationProperties (prefix = "shareit.booking.stream")
+public record BookingStreamProperties(@DefaultValue ("64") int bufferSize,
+                                      @DefaultValue ("30m") Duration timeout) {
+}
@@ -0,0 +1,209 @@
+package ru.practicum.shareit.booking.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.interfaces.UserService;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Рассылает владельцам вещей события о новых бронированиях и изменениях их статуса по SSE.
+ * <p>
+ * Подключение без событий не занимает потоков: ответ обрабатывается асинхронно, а события
+ * подписчику отправляет виртуальный поток, который запускается при появлении событий
+ * и завершается, когда они закончились. У каждого подписчика свой ограниченный буфер: если клиент
+ * читает медленнее, чем появляются события, самые старые из них отбрасываются, а рассылка другим
+ * подписчикам не замедляется. События рассылаются после фиксации транзакции и только
+ * подписчикам этого экземпляра приложения.
+ */
+@Slf4j
+@Component
+public class OwnerBookingFeed implements DisposableBean {
+
+    private static final String EVENT_NAME = "booking";
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final UserService userService;
+    private final BookingStreamProperties properties;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter dropped;
+
+    public OwnerBookingFeed(UserService userService, BookingStreamProperties properties, MeterRegistry meterRegistry) {
+        this.userService = userService;
+        this.properties = properties;
+        Gauge.builder("shareit.booking.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Число подключённых подписчиков потока бронирований")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("shareit.booking.stream.dropped")
+                .description("Число событий, отброшенных из-за переполнения буфера подписчика")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Подписывает владельца на события бронирований его вещей.
+     *
+     * @param ownerId ID владельца.
+     * @return SSE-подключение.
+     */
+    public SseEmitter subscribe(long ownerId) {
+        if (userService.findRowById(ownerId).isEmpty()) {
+            throw new NotFoundException(String.format("Пользователь с id = %d не найден", ownerId));
+        }
+        SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+        Subscriber subscriber = new Subscriber(ownerId, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unsubscribe(subscriber));
+        subscribers.compute(ownerId, (key, owners) -> {
+            Set<Subscriber> updated = owners == null ? ConcurrentHashMap.newKeySet() : owners;
+            updated.add(subscriber);
+            return updated;
+        });
+        subscriberCount.incrementAndGet();
+        return emitter;
+    }
+
+    /**
+     * Передаёт событие подписчикам владельца после фиксации транзакции, в которой оно произошло.
+     *
+     * @param event событие бронирования.
+     */
+    @TransactionalEventListener (fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        Set<Subscriber> owners = subscribers.get(event.ownerId());
+        if (owners != null) {
+            owners.forEach(subscriber -> subscriber.offer(event.booking()));
+        }
+    }
+
+    /**
+     * Отправляет простаивающим подписчикам комментарий, чтобы обнаружить закрытые подключения
+     * и не дать промежуточным прокси закрыть соединение по простою.
+     */
+    @Scheduled (fixedDelayString = "${shareit.booking.stream.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        subscribers.values().forEach(owners -> owners.forEach(Subscriber::offerHeartbeat));
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.values().forEach(owners -> owners.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    /**
+     * Удаляет подписчика. Удаление из набора и удаление пустого набора выполняются внутри одного
+     * вызова {@code computeIfPresent}, как и добавление в {@link #subscribe}, поэтому новый подписчик
+     * не может попасть в набор, который уже убран из карты.
+     */
+    private void unsubscribe(Subscriber subscriber) {
+        AtomicBoolean removed = new AtomicBoolean();
+        subscribers.computeIfPresent(subscriber.ownerId, (key, owners) -> {
+            removed.set(owners.remove(subscriber));
+            return owners.isEmpty() ? null : owners;
+        });
+        if (removed.get()) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Подключение владельца с буфером неотправленных событий.
+     */
+    private final class Subscriber {
+
+        private final long ownerId;
+        private final SseEmitter emitter;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<Object> buffer = new ArrayDeque<>();
+        private boolean sending;
+
+        private Subscriber(long ownerId, SseEmitter emitter) {
+            this.ownerId = ownerId;
+            this.emitter = emitter;
+        }
+
+        void offer(BookingDto booking) {
+            enqueue(booking, false);
+        }
+
+        void offerHeartbeat() {
+            enqueue(HEARTBEAT, true);
+        }
+
+        private void enqueue(Object event, boolean onlyIfIdle) {
+            boolean start;
+            lock.lock();
+            try {
+                if (onlyIfIdle && (sending || ! buffer.isEmpty())) {
+                    return;
+                }
+                if (buffer.size() >= properties.bufferSize()) {
+                    buffer.pollFirst();
+                    dropped.increment();
+                }
+                buffer.addLast(event);
+                start = ! sending;
+                sending = true;
+            } finally {
+                lock.unlock();
+            }
+            if (start) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void send() {
+            while (true) {
+                Object event;
+                lock.lock();
+                try {
+                    event = buffer.pollFirst();
+                    if (event == null) {
+                        sending = false;
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    emitter.send(event == HEARTBEAT
+                            ? SseEmitter.event().comment("heartbeat")
+                            : SseEmitter.event().name(EVENT_NAME).data(event));
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Подписчик владельца с id = {} отключён: {}", ownerId, e.getMessage());
+                    unsubscribe(this);
+                    lock.lock();
+                    try {
+                        buffer.clear();
+                        sending = false;
+                    } finally {
+                        lock.unlock();
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
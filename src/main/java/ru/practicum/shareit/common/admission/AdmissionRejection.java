@@ -0,0 +1,30 @@
+package ru.practicum.shareit.common.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+/**
+ * Ответ на запрос, не допущенный к обработке: код ошибки, заголовок {@code Retry-After}
+ * и тело в том же формате, что и у {@link ru.practicum.shareit.exception.GlobalExceptionHandler}.
+ */
+@NoArgsConstructor (access = AccessLevel.PRIVATE)
+final class AdmissionRejection {
+
+    static void write(HttpServletResponse response, ObjectMapper objectMapper, HttpStatus status,
+                      long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), Collections.singletonMap("error", message));
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.common.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Отсек с ограниченным числом одновременно обрабатываемых запросов одной группы эндпоинтов.
+ * <p>
+ * Запрос, для которого нет места, ждёт не дольше {@code maxWait}, а если ждущих уже
+ * {@code maxQueued}, отклоняется сразу. Загрузка отсека публикуется метриками:
+ * число обрабатываемых и ждущих запросов, доля занятых мест и число отклонённых запросов.
+ */
+final class Bulkhead {
+
+    static final String ACTIVE = "shareit.bulkhead.active";
+    static final String QUEUED = "shareit.bulkhead.queued";
+    static final String SATURATION = "shareit.bulkhead.saturation";
+    static final String REJECTED = "shareit.bulkhead.rejected";
+
+    private final BulkheadProperties.Limit limit;
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    Bulkhead(EndpointGroup group, BulkheadProperties.Limit limit, MeterRegistry meterRegistry) {
+        this.limit = limit;
+        this.permits = new Semaphore(limit.maxConcurrent(), true);
+        Tags tags = Tags.of("group", group.name());
+        Gauge.builder(ACTIVE, this, Bulkhead::active)
+                .description("Число запросов, обрабатываемых в отсеке")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder(QUEUED, permits, Semaphore::getQueueLength)
+                .description("Число запросов, ждущих места в отсеке")
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder(SATURATION, this, bulkhead -> (double) bulkhead.active() / limit.maxConcurrent())
+                .description("Доля занятых мест отсека")
+                .tags(tags)
+                .register(meterRegistry);
+        this.rejected = Counter.builder(REJECTED)
+                .description("Число запросов, отклонённых из-за заполненного отсека")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Занимает место в отсеке, при необходимости дожидаясь его.
+     *
+     * @return {@code true}, если место получено; его нужно освободить вызовом {@link #release()}.
+     */
+    boolean tryEnter() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        if (permits.getQueueLength() < limit.maxQueued()
+                && permits.tryAcquire(limit.maxWait().toNanos(), TimeUnit.NANOSECONDS)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    void release() {
+        permits.release();
+    }
+
+    private int active() {
+        return limit.maxConcurrent() - permits.availablePermits();
+    }
+}
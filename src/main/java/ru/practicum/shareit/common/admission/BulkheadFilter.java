@@ -0,0 +1,119 @@
+package ru.practicum.shareit.common.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Фильтр, разделяющий потоки обработки запросов между группами эндпоинтов ({@link EndpointGroup}):
+ * у каждой группы свой {@link Bulkhead}, поэтому всплеск медленных запросов поиска не занимает
+ * все потоки сервера и не задерживает создание и подтверждение бронирований. Запрос, не дождавшийся
+ * места в отсеке, отклоняется с кодом 503 и заголовком {@code Retry-After}. Выполняется после
+ * {@link RateLimitFilter}, чтобы запросы сверх лимита пользователя не занимали места в отсеках.
+ * <p>
+ * Асинхронный запрос (потоковая выдача, SSE) держит место в отсеке, пока не завершится его асинхронная
+ * обработка, а не только пока работает поток, принявший запрос.
+ */
+@Component
+@Order (Ordered.HIGHEST_PRECEDENCE + 20)
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final BulkheadProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<EndpointGroup, Bulkhead> bulkheads = new EnumMap<>(EndpointGroup.class);
+
+    public BulkheadFilter(BulkheadProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        for (EndpointGroup group : EndpointGroup.values()) {
+            bulkheads.put(group, new Bulkhead(group, properties.limit(group), meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return ! properties.enabled();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        EndpointGroup group = EndpointGroup.of(request);
+        Bulkhead bulkhead = bulkheads.get(group);
+        boolean entered;
+        try {
+            entered = bulkhead.tryEnter();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entered = false;
+        }
+        if (! entered) {
+            AdmissionRejection.write(response, objectMapper, HttpStatus.SERVICE_UNAVAILABLE, RETRY_AFTER_SECONDS,
+                    String.format("Сервер перегружен запросами группы %s, повторите позже", group));
+            return;
+        }
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(bulkhead));
+                async = true;
+            }
+        } finally {
+            if (! async) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    /**
+     * Освобождает место в отсеке, когда асинхронная обработка запроса завершилась: успешно,
+     * по тайм-ауту, с ошибкой или из-за отключения клиента. Место освобождается один раз.
+     */
+    private static final class ReleaseOnComplete implements AsyncListener {
+
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseOnComplete(Bulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
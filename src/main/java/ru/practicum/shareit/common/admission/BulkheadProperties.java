@@ -0,0 +1,44 @@
+package ru.practicum.shareit.common.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Ограничение числа одновременно обрабатываемых запросов для групп эндпоинтов.
+ *
+ * @param enabled включено ли ограничение.
+ * @param groups  ограничения групп эндпоинтов.
+ */
+@ConfigurationProperties (prefix = "shareit.bulkhead")
+public record BulkheadProperties(@DefaultValue ("true") boolean enabled,
+                                 Map<EndpointGroup, Limit> groups) {
+
+    private static final Limit DEFAULT_LIMIT = new Limit(50, 50, Duration.ofMillis(500));
+
+    public BulkheadProperties {
+        groups = groups == null ? Map.of() : groups;
+    }
+
+    /**
+     * Ограничение для группы эндпоинтов.
+     *
+     * @param group группа эндпоинтов.
+     * @return заданное ограничение или общее по умолчанию.
+     */
+    public Limit limit(EndpointGroup group) {
+        return groups.getOrDefault(group, DEFAULT_LIMIT);
+    }
+
+    /**
+     * @param maxConcurrent сколько запросов группы обрабатывается одновременно.
+     * @param maxQueued     сколько запросов может ждать освобождения места; остальные отклоняются сразу.
+     * @param maxWait       сколько запрос ждёт места, прежде чем будет отклонён.
+     */
+    public record Limit(@DefaultValue ("50") int maxConcurrent,
+                        @DefaultValue ("50") int maxQueued,
+                        @DefaultValue ("500ms") Duration maxWait) {
+    }
+}
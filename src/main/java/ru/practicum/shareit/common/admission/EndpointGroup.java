@@ -0,0 +1,67 @@
+package ru.practicum.shareit.common.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+
+/**
+ * Группа эндпоинтов, для которой ограничения допуска запросов задаются отдельно.
+ */
+public enum EndpointGroup {
+
+    /**
+     * Поиск вещей.
+     */
+    SEARCH,
+
+    /**
+     * Создание и подтверждение бронирований.
+     */
+    BOOKING_WRITE,
+
+    /**
+     * Потоковая выдача в формате NDJSON: держит соединение пула чтения, пока выдача не закончится.
+     */
+    STREAM,
+
+    /**
+     * Подписки на события бронирований владельца (SSE): долго открыты, но соединений с базой не держат.
+     */
+    FEED,
+
+    /**
+     * Остальные запросы на чтение.
+     */
+    READ,
+
+    /**
+     * Остальные изменяющие запросы.
+     */
+    WRITE;
+
+    /**
+     * Определяет группу эндпоинта запроса.
+     *
+     * @param request HTTP-запрос.
+     * @return группа эндпоинта.
+     */
+    public static EndpointGroup of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        if (path.startsWith("/items/search")) {
+            return SEARCH;
+        }
+        if (! read && path.startsWith("/bookings")) {
+            return BOOKING_WRITE;
+        }
+        if (read && path.equals("/bookings/owner/stream")) {
+            return FEED;
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (read && accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE)) {
+            return STREAM;
+        }
+        return read ? READ : WRITE;
+    }
+}
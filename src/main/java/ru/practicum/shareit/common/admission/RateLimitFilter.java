@@ -0,0 +1,79 @@
+package ru.practicum.shareit.common.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Фильтр допуска запросов: ограничивает частоту запросов пользователя, указанного в заголовке
+ * {@code X-Sharer-User-Id}, отдельно для каждой группы эндпоинтов ({@link EndpointGroup}).
+ * Превысивший ограничение запрос отклоняется с кодом 429 и заголовком {@code Retry-After}
+ * до обращения к контроллеру и к базе данных. Запросы без заголовка не ограничиваются.
+ */
+@Component
+@Order (Ordered.HIGHEST_PRECEDENCE + 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String REJECTED = "shareit.rate-limit.rejected";
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final Map<EndpointGroup, Counter> rejected = new EnumMap<>(EndpointGroup.class);
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimiter rateLimiter, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        for (EndpointGroup group : EndpointGroup.values()) {
+            rejected.put(group, Counter.builder(REJECTED)
+                    .description("Число запросов, отклонённых ограничением частоты")
+                    .tag("group", group.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return ! properties.enabled() || request.getHeader(USER_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long userId;
+        try {
+            userId = Long.parseLong(request.getHeader(USER_HEADER).strip());
+        } catch (NumberFormatException e) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        EndpointGroup group = EndpointGroup.of(request);
+        Duration wait = rateLimiter.tryAcquire(userId, group);
+        if (wait.isZero()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        rejected.get(group).increment();
+        long retryAfter = Math.max(1, wait.plusMillis(999).toSeconds());
+        AdmissionRejection.write(response, objectMapper, HttpStatus.TOO_MANY_REQUESTS, retryAfter,
+                String.format("Слишком много запросов, повторите через %d с", retryAfter));
+    }
+}
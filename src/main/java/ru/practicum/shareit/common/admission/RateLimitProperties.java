@@ -0,0 +1,60 @@
+package ru.practicum.shareit.common.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Ограничение частоты запросов одного пользователя.
+ *
+ * @param enabled     включено ли ограничение.
+ * @param idleTimeout через сколько после последнего запроса ведро пользователя удаляется; должно быть
+ *                    не меньше времени полного пополнения ведра, иначе пользователь получит полное ведро раньше.
+ * @param maxBuckets  сколько вёдер хранится для одной группы эндпоинтов; при превышении удаляются давно неиспользуемые.
+ * @param limits      ёмкость и скорость пополнения ведра для групп эндпоинтов.
+ */
+@ConfigurationProperties (prefix = "shareit.rate-limit")
+public record RateLimitProperties(@DefaultValue ("true") boolean enabled,
+                                  @DefaultValue ("10m") Duration idleTimeout,
+                                  @DefaultValue ("1000000") long maxBuckets,
+                                  Map<EndpointGroup, Limit> limits) {
+
+    private static final Limit DEFAULT_LIMIT = new Limit(100, 50);
+
+    public RateLimitProperties {
+        limits = limits == null ? Map.of() : limits;
+    }
+
+    /**
+     * Ограничение для группы эндпоинтов.
+     *
+     * @param group группа эндпоинтов.
+     * @return заданное ограничение или общее по умолчанию.
+     */
+    public Limit limit(EndpointGroup group) {
+        return limits.getOrDefault(group, DEFAULT_LIMIT);
+    }
+
+    /**
+     * Ограничения всех групп эндпоинтов.
+     *
+     * @return ограничение для каждой группы.
+     */
+    public Map<EndpointGroup, Limit> allLimits() {
+        Map<EndpointGroup, Limit> all = new EnumMap<>(EndpointGroup.class);
+        for (EndpointGroup group : EndpointGroup.values()) {
+            all.put(group, limit(group));
+        }
+        return all;
+    }
+
+    /**
+     * @param capacity        сколько запросов допускается подряд без ожидания.
+     * @param refillPerSecond сколько запросов в секунду допускается в среднем.
+     */
+    public record Limit(@DefaultValue ("100") long capacity, @DefaultValue ("50") double refillPerSecond) {
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.common.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Хранит вёдра маркеров пользователей отдельно для каждой группы эндпоинтов.
+ * <p>
+ * Вёдра лежат в кэше с вытеснением по простою и по размеру, поэтому память ограничена
+ * при любом числе различных пользователей: ведро, которое не использовалось дольше времени
+ * полного пополнения, ничем не отличается от нового и может быть удалено.
+ */
+@Component
+public class RateLimiter {
+
+    private final Map<EndpointGroup, Cache<Long, TokenBucket>> buckets = new EnumMap<>(EndpointGroup.class);
+    private final Map<EndpointGroup, RateLimitProperties.Limit> limits;
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.limits = properties.allLimits();
+        for (EndpointGroup group : EndpointGroup.values()) {
+            buckets.put(group, Caffeine.newBuilder()
+                    .expireAfterAccess(properties.idleTimeout())
+                    .maximumSize(properties.maxBuckets())
+                    .build());
+        }
+    }
+
+    /**
+     * Пытается допустить запрос пользователя.
+     *
+     * @param userId ID пользователя.
+     * @param group  группа эндпоинта.
+     * @return {@link Duration#ZERO}, если запрос допущен, иначе время до появления следующего маркера.
+     */
+    public Duration tryAcquire(long userId, EndpointGroup group) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(group).get(userId, id -> new TokenBucket(limits.get(group), now));
+        return Duration.ofNanos(bucket.tryAcquire(now));
+    }
+}
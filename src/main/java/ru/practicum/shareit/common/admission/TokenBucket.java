@@ -0,0 +1,53 @@
+package ru.practicum.shareit.common.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ведро маркеров без блокировок.
+ * <p>
+ * Состояние ведра — одно число: теоретическое время прихода следующего запроса (алгоритм GCRA).
+ * Каждый допущенный запрос сдвигает его на интервал пополнения одного маркера, а запрос,
+ * для которого сдвиг превысил бы ёмкость ведра, отклоняется. Это эквивалентно ведру ёмкостью
+ * {@code capacity} маркеров, пополняемому на {@code refillPerSecond} маркеров в секунду,
+ * но обновляется одной операцией compare-and-set.
+ */
+final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final long emissionInterval;
+    private final long burstTolerance;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * Создаёт полное ведро.
+     *
+     * @param limit ёмкость и скорость пополнения.
+     * @param now   текущее время в наносекундах.
+     */
+    TokenBucket(RateLimitProperties.Limit limit, long now) {
+        this.emissionInterval = Math.max(1, Math.round(NANOS_PER_SECOND / limit.refillPerSecond()));
+        this.burstTolerance = emissionInterval * limit.capacity();
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * Забирает маркер, если он есть.
+     *
+     * @param now текущее время в наносекундах.
+     * @return 0, если маркер получен, иначе через сколько наносекунд появится следующий маркер.
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, now) + emissionInterval;
+            long wait = next - now - burstTolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.common.batch;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Обработчик одной порции прошедших валидацию элементов пакетного запроса.
+ * Вызывается внутри транзакции порции.
+ *
+ * @param <T> тип элемента запроса.
+ * @param <R> тип созданной сущности в ответе.
+ */
+@FunctionalInterface
+public interface BatchChunkHandler<T, R> {
+
+    /**
+     * Сохраняет порцию элементов.
+     *
+     * @param chunk  элементы порции.
+     * @param reject принимает элемент, который не может быть сохранён, и описание причины.
+     * @return созданные сущности в порядке элементов порции.
+     */
+    List<R> handle(List<BatchRow<T>> chunk, BiConsumer<BatchRow<T>, String> reject);
+}
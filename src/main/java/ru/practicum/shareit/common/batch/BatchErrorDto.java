@@ -0,0 +1,10 @@
+package ru.practicum.shareit.common.batch;
+
+/**
+ * Ошибка обработки одного элемента пакетного запроса.
+ *
+ * @param index   позиция элемента в запросе, начиная с нуля.
+ * @param message описание ошибки.
+ */
+public record BatchErrorDto(int index, String message) {
+}
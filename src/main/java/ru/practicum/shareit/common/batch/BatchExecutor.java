@@ -0,0 +1,107 @@
+package ru.practicum.shareit.common.batch;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.BatchException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Выполняет пакетное создание сущностей.
+ * <p>
+ * Каждый элемент запроса проверяется валидатором Bean Validation, ошибки собираются по позициям
+ * элементов и не прерывают обработку остальных. Прошедшие проверку элементы сохраняются порциями
+ * по {@link BatchProperties#chunkSize()} — каждая порция в своей транзакции, после которой контекст
+ * персистентности сбрасывается и очищается. Вместе с пулом идентификаторов из последовательности
+ * и {@code hibernate.jdbc.batch_size} это позволяет Hibernate отправлять вставки пачками.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BatchExecutor {
+
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final BatchProperties properties;
+
+    /**
+     * Проверяет и сохраняет элементы пакетного запроса.
+     *
+     * @param rows    элементы запроса.
+     * @param handler обработчик порции прошедших валидацию элементов.
+     * @param <T>     тип элемента запроса.
+     * @param <R>     тип созданной сущности в ответе.
+     * @return созданные сущности и ошибки по отклонённым элементам.
+     * @throws BatchException если запрос пуст или превышает допустимый размер.
+     */
+    public <T, R> BatchResultDto<R> execute(List<T> rows, BatchChunkHandler<T, R> handler) {
+        if (rows == null || rows.isEmpty()) {
+            throw new BatchException("Пакет не может быть пустым");
+        }
+        if (rows.size() > properties.maxSize()) {
+            throw new BatchException(String.format("Размер пакета %d превышает допустимый: %d", rows.size(), properties.maxSize()));
+        }
+
+        List<BatchErrorDto> errors = new ArrayList<>();
+        List<BatchRow<T>> valid = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            String violation = validate(rows.get(i));
+            if (violation == null) {
+                valid.add(new BatchRow<>(i, rows.get(i)));
+            } else {
+                errors.add(new BatchErrorDto(i, violation));
+            }
+        }
+
+        List<R> created = new ArrayList<>(valid.size());
+        for (int from = 0; from < valid.size(); from += properties.chunkSize()) {
+            List<BatchRow<T>> chunk = valid.subList(from, Math.min(from + properties.chunkSize(), valid.size()));
+            List<BatchErrorDto> chunkErrors = new ArrayList<>();
+            try {
+                created.addAll(transactionTemplate.execute(status -> {
+                    List<R> saved = handler.handle(chunk, (row, message) -> chunkErrors.add(new BatchErrorDto(row.index(), message)));
+                    entityManager.flush();
+                    entityManager.clear();
+                    return saved;
+                }));
+                errors.addAll(chunkErrors);
+            } catch (DataAccessException | PersistenceException e) {
+                log.error("Ошибка сохранения порции пакета с позиции {}", chunk.getFirst().index(), e);
+                entityManager.clear();
+                String message = "Ошибка сохранения: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                chunk.forEach(row -> errors.add(new BatchErrorDto(row.index(), message)));
+            }
+        }
+
+        errors.sort(Comparator.comparingInt(BatchErrorDto::index));
+        log.debug("Пакет обработан: создано {}, отклонено {}", created.size(), errors.size());
+        return new BatchResultDto<>(created, errors);
+    }
+
+    private <T> String validate(T row) {
+        if (row == null) {
+            return "Элемент пакета не может быть пустым";
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.common.batch;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Настройки пакетного создания сущностей.
+ *
+ * @param maxSize   максимальное число элементов в одном пакетном запросе.
+ * @param chunkSize сколько элементов сохраняется в одной транзакции.
+ */
+@ConfigurationProperties (prefix = "shareit.batch")
+public record BatchProperties(@DefaultValue ("50000") int maxSize,
+                              @DefaultValue ("1000") int chunkSize) {
+}
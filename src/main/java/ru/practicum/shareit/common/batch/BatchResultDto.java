@@ -0,0 +1,13 @@
+package ru.practicum.shareit.common.batch;
+
+import java.util.List;
+
+/**
+ * Результат пакетного создания: созданные сущности в порядке запроса и ошибки по отклонённым элементам.
+ *
+ * @param created созданные сущности.
+ * @param errors  ошибки, упорядоченные по позиции элемента в запросе.
+ * @param <T>     тип созданных сущностей.
+ */
+public record BatchResultDto<T>(List<T> created, List<BatchErrorDto> errors) {
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.common.batch;
+
+/**
+ * Элемент пакетного запроса вместе с его позицией в исходном списке.
+ *
+ * @param index позиция элемента в запросе, начиная с нуля.
+ * @param value элемент запроса.
+ * @param <T>   тип элемента.
+ */
+public record BatchRow<T>(int index, T value) {
+}
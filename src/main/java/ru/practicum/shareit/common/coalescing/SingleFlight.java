@@ -0,0 +1,125 @@
+package ru.practicum.shareit.common.coalescing;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Объединение одновременных загрузок одного и того же значения.
+ * <p>
+ * Первый вызов {@link #load} для ключа выполняет загрузку в своём потоке, остальные вызовы с тем же
+ * ключом ждут её результата вместо повторной загрузки. Готовый результат отдаётся ещё {@code ttl},
+ * при нулевом {@code ttl} объединяются только одновременные вызовы. Ошибка загрузки передаётся всем
+ * ожидающим и не запоминается.
+ *
+ * @param <K> тип ключа.
+ * @param <V> тип значения.
+ */
+public final class SingleFlight<K, V> {
+
+    private final long ttl;
+    private final LongSupplier clock;
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * @param ttl сколько отдавать готовый результат после загрузки.
+     */
+    public SingleFlight(Duration ttl) {
+        this(ttl, System::nanoTime);
+    }
+
+    SingleFlight(Duration ttl, LongSupplier clock) {
+        this.ttl = Math.max(0, ttl.toNanos());
+        this.clock = clock;
+    }
+
+    /**
+     * Возвращает значение по ключу, загружая его, только если для ключа нет ни текущей загрузки,
+     * ни свежего результата.
+     *
+     * @param key    ключ.
+     * @param loader загрузка значения.
+     * @return значение.
+     */
+    public V load(K key, Supplier<V> loader) {
+        Flight<V> own = new Flight<>();
+        while (true) {
+            Flight<V> current = flights.putIfAbsent(key, own);
+            if (current == null) {
+                return lead(key, own, loader);
+            }
+            if (! current.isExpired(clock.getAsLong())) {
+                return current.await();
+            }
+            flights.remove(key, current);
+        }
+    }
+
+    /**
+     * Забывает результат для ключа. Уже начатая загрузка завершится для тех, кто её ждёт,
+     * но следующие вызовы загрузят значение заново.
+     *
+     * @param key ключ.
+     */
+    public void invalidate(K key) {
+        flights.remove(key);
+    }
+
+    /**
+     * Удаляет устаревшие результаты.
+     */
+    public void purgeExpired() {
+        long now = clock.getAsLong();
+        flights.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+    }
+
+    int size() {
+        return flights.size();
+    }
+
+    private V lead(K key, Flight<V> flight, Supplier<V> loader) {
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, flight);
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+        flight.expiresAt = clock.getAsLong() + ttl;
+        flight.result.complete(value);
+        if (ttl == 0) {
+            flights.remove(key, flight);
+        }
+        return value;
+    }
+
+    private static final class Flight<V> {
+
+        final CompletableFuture<V> result = new CompletableFuture<>();
+
+        volatile long expiresAt;
+
+        boolean isExpired(long now) {
+            return result.isDone() && now - expiresAt >= 0;
+        }
+
+        V await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.common.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Источники соединений для транзакций только на чтение.
+ *
+ * @param replicas подключения к репликам.
+ * @param readPool отдельный пул соединений с основной базой; используется, если реплики не заданы.
+ *                 Если не заданы ни реплики, ни пул чтения, все запросы идут через пул основной базы.
+ */
+@ConfigurationProperties (prefix = "shareit.datasource")
+public record ReadReplicaProperties(@DefaultValue List<Replica> replicas,
+                                    @DefaultValue ReadPool readPool) {
+
+    /**
+     * Пул соединений с основной базой для транзакций только на чтение. Отделяет медленные читающие
+     * запросы (поиск, списки) от пула, обслуживающего запись, чтобы они не забирали его соединения.
+     * Размер пула и остальные настройки Hikari задаются свойствами {@code shareit.datasource.read-pool.hikari}.
+     *
+     * @param enabled создавать ли пул.
+     */
+    public record ReadPool(@DefaultValue ("false") boolean enabled) {
+    }
+
+    /**
+     * Подключение к реплике.
+     *
+     * @param url             JDBC URL реплики.
+     * @param username        имя пользователя.
+     * @param password        пароль.
+     * @param maximumPoolSize максимальный размер пула соединений реплики.
+     */
+    public record Replica(String url,
+                          String username,
+                          String password,
+                          @DefaultValue ("10") int maximumPoolSize) {
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.common.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Источник данных, направляющий транзакции только на чтение в пулы чтения (реплики или отдельный
+ * пул основной базы) по очереди, а все остальные соединения — в пул основной базы.
+ * <p>
+ * Признак {@code readOnly} выставляется Spring уже после открытия транзакции, поэтому источник
+ * должен использоваться через {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * соединение берётся при первом запросе, когда признак уже известен.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private final List<DataSource> replicas;
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param primary  основная база.
+     * @param replicas пулы для чтения.
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        this.replicas = List.copyOf(replicas);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            targets.put(key, replicas.get(i));
+            replicaKeys.add(key);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaKeys.isEmpty() || ! TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+    }
+
+    /**
+     * Закрывает пулы соединений для чтения. Пул основной базы закрывается отдельно, как самостоятельный бин.
+     */
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
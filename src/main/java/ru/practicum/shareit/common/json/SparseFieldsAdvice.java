@@ -0,0 +1,37 @@
+package ru.practicum.shareit.common.json;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.item.ItemController;
+import ru.practicum.shareit.user.UserController;
+
+/**
+ * Применяет параметры {@code fields} и {@code view} запроса к телу ответа вещей, бронирований и пользователей.
+ * Без этих параметров ответ сериализуется полностью.
+ */
+@RestControllerAdvice (assignableTypes = {ItemController.class, BookingController.class, UserController.class})
+public class SparseFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType, MethodParameter returnType,
+                                           ServerHttpRequest request, ServerHttpResponse response) {
+        if (! (request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        SparseFieldsFilter filter = SparseFieldsFilter.of(httpRequest.getParameter(SparseFieldsFilter.FIELDS_PARAMETER),
+                httpRequest.getParameter(SparseFieldsFilter.VIEW_PARAMETER));
+        if (filter != null) {
+            bodyContainer.setFilters(new SimpleFilterProvider().addFilter(SparseFieldsFilter.NAME, filter));
+        }
+    }
+}
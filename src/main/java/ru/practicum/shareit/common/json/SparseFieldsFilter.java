@@ -0,0 +1,120 @@
+package ru.practicum.shareit.common.json;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ReflectionUtils;
+import ru.practicum.shareit.exception.FieldSelectionException;
+
+import java.beans.PropertyDescriptor;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Фильтр сериализации объектов, помеченных {@code @JsonFilter(SparseFieldsFilter.NAME)}.
+ * <p>
+ * Записывает только выбранные свойства объекта; свойство {@code id} записывается всегда.
+ * Вложенные объекты с тем же фильтром заменяются их ID, коллекции таких объектов — списками ID,
+ * поэтому связанные сущности не сериализуются и не загружаются.
+ */
+public final class SparseFieldsFilter extends SimpleBeanPropertyFilter {
+
+    public static final String NAME = "sparse";
+
+    public static final String FIELDS_PARAMETER = "fields";
+    public static final String VIEW_PARAMETER = "view";
+    public static final String COMPACT_VIEW = "compact";
+
+    private static final String ID = "id";
+
+    private final Set<String> fields;
+
+    private SparseFieldsFilter(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Создаёт фильтр по параметрам запроса.
+     * <p>
+     * {@code fields} — список свойств через запятую; {@code view=compact} — все свойства, кроме коллекций.
+     *
+     * @param fields значение параметра {@code fields} или null.
+     * @param view   значение параметра {@code view} или null.
+     * @return фильтр или null, если параметры не заданы.
+     */
+    public static SparseFieldsFilter of(String fields, String view) {
+        if (view != null && ! COMPACT_VIEW.equals(view)) {
+            throw new FieldSelectionException(String.format("Неизвестное представление: %s", view));
+        }
+        if (fields != null && ! fields.isBlank()) {
+            return new SparseFieldsFilter(Arrays.stream(fields.split(","))
+                    .map(String::strip)
+                    .filter(field -> ! field.isEmpty())
+                    .collect(Collectors.toUnmodifiableSet()));
+        }
+        return view == null ? null : new SparseFieldsFilter(null);
+    }
+
+    @Override
+    public void serializeAsField(Object pojo, JsonGenerator generator, SerializerProvider provider, PropertyWriter writer) throws Exception {
+        if (! include(writer)) {
+            if (! generator.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, generator, provider);
+            }
+            return;
+        }
+        if (writer instanceof BeanPropertyWriter property) {
+            Object value = property.get(pojo);
+            if (isReference(value)) {
+                generator.writeFieldName(property.getName());
+                generator.writeObject(idOf(value));
+                return;
+            }
+            if (value instanceof Collection<?> values && values.stream().anyMatch(SparseFieldsFilter::isReference)) {
+                generator.writeFieldName(property.getName());
+                generator.writeStartArray();
+                for (Object element : values) {
+                    generator.writeObject(isReference(element) ? idOf(element) : element);
+                }
+                generator.writeEndArray();
+                return;
+            }
+        }
+        writer.serializeAsField(pojo, generator, provider);
+    }
+
+    @Override
+    protected boolean include(PropertyWriter writer) {
+        if (ID.equals(writer.getName())) {
+            return true;
+        }
+        if (fields == null) {
+            return ! writer.getType().isContainerType();
+        }
+        return fields.contains(writer.getName());
+    }
+
+    @Override
+    protected boolean include(BeanPropertyWriter writer) {
+        return include((PropertyWriter) writer);
+    }
+
+    private static boolean isReference(Object value) {
+        return value != null && AnnotatedElementUtils.hasAnnotation(value.getClass(), JsonFilter.class);
+    }
+
+    private static Object idOf(Object value) {
+        PropertyDescriptor id = BeanUtils.getPropertyDescriptor(value.getClass(), ID);
+        if (id == null || id.getReadMethod() == null) {
+            return null;
+        }
+        return ReflectionUtils.invokeMethod(id.getReadMethod(), value);
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.common.loader;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.comment.dto.ItemCommentText;
+import ru.practicum.shareit.item.comment.model.Comment;
+import ru.practicum.shareit.item.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Пакетный загрузчик связанных сущностей для мапперов.
+ * <p>
+ * Вместо ленивой загрузки вещи, владельца, автора и комментариев для каждого элемента списка
+ * собирает их ID по всему набору результатов и загружает каждый тип одним запросом
+ * {@code IN (...)}. Число запросов не зависит от размера списка.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityBatchLoader {
+
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final CommentRepository commentRepository;
+
+    /**
+     * Загружает вещи, их владельцев и комментарии, а также арендаторов бронирований.
+     *
+     * @param bookings бронирования.
+     * @return загруженные сущности.
+     */
+    public LoadedEntities forBookings(Collection<Booking> bookings) {
+        Set<Long> itemIds = collectIds(bookings, booking -> booking.getItem().getId());
+        Set<Long> bookerIds = collectIds(bookings, booking -> booking.getBooker().getId());
+        return load(itemRepository.findAllById(itemIds), bookerIds);
+    }
+
+    /**
+     * Загружает владельцев и комментарии вещей.
+     *
+     * @param items вещи.
+     * @return загруженные сущности.
+     */
+    public LoadedEntities forItems(Collection<Item> items) {
+        return load(items, Set.of());
+    }
+
+    /**
+     * Загружает вещи комментариев, их владельцев и комментарии, а также авторов.
+     *
+     * @param comments комментарии.
+     * @return загруженные сущности.
+     */
+    public LoadedEntities forComments(Collection<Comment> comments) {
+        Set<Long> itemIds = collectIds(comments, comment -> comment.getItem().getId());
+        Set<Long> authorIds = collectIds(comments, comment -> comment.getAuthor().getId());
+        return load(itemRepository.findAllById(itemIds), authorIds);
+    }
+
+    private LoadedEntities load(Collection<Item> items, Set<Long> extraUserIds) {
+        Map<Long, Item> itemsById = items.stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        Set<Long> userIds = new HashSet<>(extraUserIds);
+        items.stream()
+                .filter(item -> item.getOwner() != null)
+                .forEach(item -> userIds.add(item.getOwner().getId()));
+        Map<Long, User> usersById = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return new LoadedEntities(itemsById, usersById, commentTexts(itemsById.keySet()));
+    }
+
+    /**
+     * Загружает тексты комментариев к вещам одним запросом.
+     *
+     * @param itemIds ID вещей.
+     * @return тексты комментариев по ID вещи, вещи без комментариев отсутствуют.
+     */
+    public Map<Long, List<String>> commentTexts(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Map.of();
+        }
+        return commentRepository.findTextsByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(ItemCommentText::itemId,
+                        Collectors.mapping(ItemCommentText::text, Collectors.toList())));
+    }
+
+    private static <T> Set<Long> collectIds(Collection<T> entities, Function<T, Long> idExtractor) {
+        return entities.stream().map(idExtractor).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.common.loader;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Связанные сущности, заранее загруженные пакетами для преобразования набора результатов в DTO.
+ */
+@RequiredArgsConstructor (access = AccessLevel.PACKAGE)
+public class LoadedEntities {
+
+    private final Map<Long, Item> items;
+    private final Map<Long, User> users;
+    private final Map<Long, List<String>> comments;
+
+    /**
+     * Возвращает загруженную вещь.
+     *
+     * @param itemId ID вещи.
+     * @return вещь.
+     */
+    public Item item(long itemId) {
+        Item item = items.get(itemId);
+        if (item == null) {
+            throw new NotFoundException(String.format("Вещь с id = %d не найдена", itemId));
+        }
+        return item;
+    }
+
+    /**
+     * Возвращает загруженного пользователя.
+     *
+     * @param userId ID пользователя.
+     * @return пользователь.
+     */
+    public User user(long userId) {
+        User user = users.get(userId);
+        if (user == null) {
+            throw new NotFoundException(String.format("Пользователь с id = %d не найден", userId));
+        }
+        return user;
+    }
+
+    /**
+     * Возвращает тексты комментариев к вещи.
+     *
+     * @param itemId ID вещи.
+     * @return тексты комментариев, пустой список, если их нет.
+     */
+    public List<String> comments(long itemId) {
+        return comments.getOrDefault(itemId, Collections.emptyList());
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.QueryBudgetExceededException;
+
+import java.util.Map;
+
+/**
+ * Проверяет обращения к базе данных HTTP-запроса на соответствие бюджету {@link QueryBudgetProperties}:
+ * общее число SQL-запросов и число повторов запроса одной формы (признак N+1).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryBudgetGuard {
+
+    public static final String EXCEEDED = "shareit.request.query.budget.exceeded";
+
+    private final QueryBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Проверяет счётчики запроса.
+     *
+     * @param endpoint  шаблон эндпоинта.
+     * @param method    HTTP-метод.
+     * @param stats     счётчики запроса.
+     * @param committed отправлен ли уже ответ клиенту; такой ответ исключение не изменит.
+     * @throws QueryBudgetExceededException если бюджет превышен в режиме FAIL, а ответ ещё не отправлен.
+     */
+    void check(String endpoint, String method, RequestQueryStats stats, boolean committed) {
+        if (properties.excludedEndpoints().contains(endpoint)) {
+            return;
+        }
+        int maxStatements = properties.maxStatements(endpoint);
+        if (stats.getStatements() > maxStatements) {
+            exceeded(endpoint, method, committed, "statements", String.format("%s %s: выполнено %d SQL-запросов при бюджете %d",
+                    method, endpoint, stats.getStatements(), maxStatements));
+        }
+        Map.Entry<String, Integer> repeated = stats.mostRepeatedShape();
+        if (repeated != null && repeated.getValue() > properties.maxRepeats()) {
+            exceeded(endpoint, method, committed, "repeats", String.format("%s %s: запрос выполнен %d раз при бюджете %d (возможен N+1): %s",
+                    method, endpoint, repeated.getValue(), properties.maxRepeats(), repeated.getKey()));
+        }
+    }
+
+    private void exceeded(String endpoint, String method, boolean committed, String reason, String message) {
+        meterRegistry.counter(EXCEEDED, "endpoint", endpoint, "method", method, "reason", reason).increment();
+        log.warn("Превышен бюджет обращений к базе данных: {}", message);
+        if (properties.mode() == QueryBudgetProperties.Mode.FAIL && ! committed) {
+            throw new QueryBudgetExceededException(message);
+        }
+    }
+}
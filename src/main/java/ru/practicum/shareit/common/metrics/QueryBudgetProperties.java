@@ -0,0 +1,47 @@
+package ru.practicum.shareit.common.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Бюджет обращений к базе данных на один HTTP-запрос.
+ *
+ * @param mode              реакция на превышение: LOG — предупреждение в журнале и метрика,
+ *                          FAIL — дополнительно исключение, если ответ ещё не отправлен. FAIL предназначен
+ *                          только для тестов: отправленный ответ уже не изменить, поэтому тесты проверяют
+ *                          и метрику {@link QueryBudgetGuard#EXCEEDED}.
+ * @param maxStatements     сколько SQL-запросов допускается за один HTTP-запрос.
+ * @param maxRepeats        сколько раз за один HTTP-запрос допускается запрос одной и той же формы;
+ *                          больше — признак N+1.
+ * @param endpoints         индивидуальный лимит SQL-запросов для шаблонов эндпоинтов.
+ * @param excludedEndpoints шаблоны эндпоинтов, которые не проверяются (например, пакетные).
+ */
+@ConfigurationProperties (prefix = "shareit.query-budget")
+public record QueryBudgetProperties(@DefaultValue ("LOG") Mode mode,
+                                    @DefaultValue ("25") int maxStatements,
+                                    @DefaultValue ("5") int maxRepeats,
+                                    Map<String, Integer> endpoints,
+                                    @DefaultValue ({"/users/batch", "/items/batch", "/bookings/batch"}) Set<String> excludedEndpoints) {
+
+    public QueryBudgetProperties {
+        endpoints = endpoints == null ? Map.of() : endpoints;
+    }
+
+    /**
+     * Лимит SQL-запросов для эндпоинта.
+     *
+     * @param endpoint шаблон эндпоинта.
+     * @return индивидуальный лимит или общий, если индивидуальный не задан.
+     */
+    public int maxStatements(String endpoint) {
+        return endpoints.getOrDefault(endpoint, maxStatements);
+    }
+
+    public enum Mode {
+        LOG,
+        FAIL
+    }
+}
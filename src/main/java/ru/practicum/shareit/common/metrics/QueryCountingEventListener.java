@@ -0,0 +1,23 @@
+package ru.practicum.shareit.common.metrics;
+
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * Слушатель событий Hibernate, считающий загруженные сущности и инициализированные коллекции
+ * текущего HTTP-запроса.
+ */
+public class QueryCountingEventListener implements PostLoadEventListener, InitializeCollectionEventListener {
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestQueryStats.entityLoaded();
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        RequestQueryStats.collectionFetched();
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.common.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Перехватчик SQL Hibernate, считающий подготовленные запросы текущего HTTP-запроса и их формы.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestQueryStats.statementPrepared(sql);
+        return sql;
+    }
+}
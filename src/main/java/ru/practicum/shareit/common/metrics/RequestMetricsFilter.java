@@ -0,0 +1,85 @@
+package ru.practicum.shareit.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.booking.enums.BookingSearchState;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Фильтр, публикующий для каждого запроса число SQL-запросов, загруженных сущностей
+ * и инициализированных коллекций. Метрики помечаются шаблоном эндпоинта, HTTP-методом
+ * и состоянием поиска бронирований ({@code state}). Успешно обработанный запрос затем
+ * проверяется на соответствие бюджету обращений к базе данных ({@link QueryBudgetGuard});
+ * если ответ к этому моменту уже отправлен, превышение только записывается в журнал и метрику.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS = "shareit.request.sql.statements";
+    public static final String ENTITIES_LOADED = "shareit.request.entities.loaded";
+    public static final String COLLECTIONS_FETCHED = "shareit.request.collections.fetched";
+
+    private static final String STATE_PARAMETER = "state";
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetGuard queryBudgetGuard;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.stop();
+            Tags tags = Tags.of("endpoint", endpoint(request), "method", request.getMethod(), "state", state(request));
+            record(STATEMENTS, "Число SQL-запросов за HTTP-запрос", tags, stats.getStatements());
+            record(ENTITIES_LOADED, "Число загруженных сущностей за HTTP-запрос", tags, stats.getEntitiesLoaded());
+            record(COLLECTIONS_FETCHED, "Число инициализированных коллекций за HTTP-запрос", tags, stats.getCollectionsFetched());
+        }
+        queryBudgetGuard.check(endpoint(request), request.getMethod(), stats, response.isCommitted());
+    }
+
+    private void record(String name, String description, Tags tags, long value) {
+        DistributionSummary.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(value);
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+
+    /**
+     * Значение параметра {@code state}; неизвестные значения сводятся к одному тегу, чтобы не плодить метрики.
+     */
+    private static String state(HttpServletRequest request) {
+        String state = request.getParameter(STATE_PARAMETER);
+        if (state == null) {
+            return NONE;
+        }
+        return Arrays.stream(BookingSearchState.values())
+                .map(Enum::name)
+                .filter(state::equals)
+                .findFirst()
+                .orElse("INVALID");
+    }
+}
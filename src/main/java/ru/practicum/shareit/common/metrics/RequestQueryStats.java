@@ -0,0 +1,94 @@
+package ru.practicum.shareit.common.metrics;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Счётчики обращений к базе данных в рамках одного HTTP-запроса.
+ * Привязываются к потоку запроса фильтром {@link RequestMetricsFilter} и наполняются
+ * перехватчиком SQL и слушателями событий Hibernate.
+ * <p>
+ * Помимо общего числа SQL-запросов учитывается число запросов каждой формы — текста SQL,
+ * в котором литералы и списки параметров {@code IN} сведены к одному параметру. Много запросов
+ * одной формы за HTTP-запрос — типичный признак N+1.
+ */
+@Getter
+@NoArgsConstructor (access = AccessLevel.PRIVATE)
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Getter (AccessLevel.NONE)
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    private long statements;
+    private long entitiesLoaded;
+    private long collectionsFetched;
+
+    /**
+     * Начинает подсчёт для текущего потока.
+     *
+     * @return счётчики текущего запроса.
+     */
+    static RequestQueryStats start() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Завершает подсчёт для текущего потока.
+     */
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    static void statementPrepared(String sql) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.shapes.merge(shape(sql), 1, Integer::sum);
+        }
+    }
+
+    static void entityLoaded() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entitiesLoaded++;
+        }
+    }
+
+    static void collectionFetched() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.collectionsFetched++;
+        }
+    }
+
+    /**
+     * Форма SQL-запроса, выполненного больше всего раз.
+     *
+     * @return форма запроса и число выполнений или null, если запросов не было.
+     */
+    Map.Entry<String, Integer> mostRepeatedShape() {
+        return shapes.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+    }
+
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
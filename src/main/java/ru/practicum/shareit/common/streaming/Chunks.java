@@ -0,0 +1,40 @@
+package ru.practicum.shareit.common.streaming;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Утилитный класс для обработки потока элементов порциями фиксированного размера.
+ */
+@NoArgsConstructor (access = AccessLevel.PRIVATE)
+public class Chunks {
+
+    /**
+     * Передаёт элементы потока обработчику порциями не больше заданного размера.
+     *
+     * @param stream    поток элементов.
+     * @param chunkSize размер порции.
+     * @param consumer  обработчик порции.
+     * @param <T>       тип элементов.
+     */
+    public static <T> void forEach(Stream<T> stream, int chunkSize, Consumer<List<T>> consumer) {
+        Iterator<T> iterator = stream.iterator();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == chunkSize) {
+                consumer.accept(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (! chunk.isEmpty()) {
+            consumer.accept(chunk);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.common.streaming;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Формирует ответ в формате NDJSON: каждый объект записывается в ответ отдельной строкой
+ * сразу после преобразования, без накопления всего списка в памяти.
+ */
+@Component
+@RequiredArgsConstructor
+public class NdjsonResponseWriter {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Создаёт потоковый ответ, в тело которого построчно пишутся объекты, переданные источником.
+     *
+     * @param source источник, передающий объекты в полученный обработчик.
+     * @param <T>    тип объектов.
+     * @return потоковый ответ с типом содержимого {@code application/x-ndjson}.
+     */
+    public <T> ResponseEntity<StreamingResponseBody> write(Consumer<Consumer<T>> source) {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                source.accept(value -> {
+                    try {
+                        generator.writeObject(value);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
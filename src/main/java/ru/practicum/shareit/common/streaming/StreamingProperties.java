@@ -0,0 +1,13 @@
+package ru.practicum.shareit.common.streaming;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Настройки потоковой выдачи списков.
+ *
+ * @param chunkSize сколько строк преобразуется в DTO за раз, после чего контекст персистентности очищается.
+ */
+@ConfigurationProperties (prefix = "shareit.streaming")
+public record StreamingProperties(@DefaultValue ("500") int chunkSize) {
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.common.transaction;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Утилитный класс для действий, привязанных к исходу текущей транзакции: обновления
+ * индексов в памяти не должны расходиться с тем, что действительно зафиксировано в базе.
+ */
+@NoArgsConstructor (access = AccessLevel.PRIVATE)
+public class TransactionCallbacks {
+
+    /**
+     * Выполняет действие после фиксации текущей транзакции или сразу, если транзакции нет.
+     *
+     * @param action действие.
+     */
+    public static void afterCommit(Runnable action) {
+        if (! TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Выполняет действие, если текущая транзакция завершится без фиксации.
+     * Вне транзакции ничего не делает.
+     *
+     * @param action действие.
+     */
+    public static void afterRollback(Runnable action) {
+        if (! TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Кэш неизменяемых строк пользователей и вещей для частых обращений по ID.
+ * Размер, время жизни и сбор статистики задаются в {@code spring.cache.caffeine.spec},
+ * отключается свойством {@code shareit.cache.enabled=false}.
+ * <p>
+ * Внутри транзакции кэш изменяется только после её фиксации: вытеснение не открывает окно,
+ * в котором другой запрос снова положил бы в кэш ещё не изменённую строку, а откат не оставляет
+ * в кэше прочитанного внутри него.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties (CacheProperties.class)
+@ConditionalOnProperty (prefix = "shareit.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CacheConfig {
+
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        caffeine.setCacheSpecification(properties.getCaffeine().getSpec());
+        caffeine.setCacheNames(properties.getCacheNames());
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import ru.practicum.shareit.common.datasource.ReadReplicaProperties;
+import ru.practicum.shareit.common.datasource.ReadWriteRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Разделение чтения и записи между пулами соединений.
+ * Включается, когда задана хотя бы одна реплика в {@code shareit.datasource.replicas} или включён
+ * пул чтения {@code shareit.datasource.read-pool}: транзакции {@code @Transactional (readOnly = true)}
+ * обслуживают пулы реплик, а без реплик — пул чтения основной базы; остальные транзакции, в том числе
+ * запись бронирований, — пул основной базы.
+ * <p>
+ * Пулы чтения и реплик получают общие настройки {@code spring.datasource.hikari}; пул чтения дополнительно
+ * настраивается свойствами {@code shareit.datasource.read-pool.hikari}, которые переопределяют общие.
+ */
+@Configuration
+@ConditionalOnExpression ("'${shareit.datasource.replicas[0].url:}' != '' or ${shareit.datasource.read-pool.enabled:false}")
+public class DataSourceConfig {
+
+    private static final String COMMON_HIKARI = "spring.datasource.hikari";
+    private static final String READ_POOL_HIKARI = "shareit.datasource.read-pool.hikari";
+
+    @Bean
+    @ConfigurationProperties (prefix = COMMON_HIKARI)
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                        DataSourceProperties dataSourceProperties,
+                                                        ReadReplicaProperties properties,
+                                                        MeterRegistry meterRegistry,
+                                                        Environment environment) {
+        Binder binder = Binder.get(environment);
+        List<DataSource> replicas = new ArrayList<>();
+        if (properties.replicas().isEmpty()) {
+            HikariDataSource readPool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            binder.bind(COMMON_HIKARI, Bindable.ofInstance(readPool));
+            binder.bind(READ_POOL_HIKARI, Bindable.ofInstance(readPool));
+            readPool.setPoolName("read");
+            readPool.setReadOnly(true);
+            readPool.setMetricRegistry(meterRegistry);
+            replicas.add(readPool);
+        }
+        for (ReadReplicaProperties.Replica replica : properties.replicas()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            binder.bind(COMMON_HIKARI, Bindable.ofInstance(dataSource));
+            dataSource.setPoolName("replica-" + replicas.size());
+            dataSource.setJdbcUrl(replica.url());
+            dataSource.setUsername(replica.username());
+            dataSource.setPassword(replica.password());
+            dataSource.setMaximumPoolSize(replica.maximumPoolSize());
+            dataSource.setReadOnly(true);
+            dataSource.setMetricRegistry(meterRegistry);
+            replicas.add(dataSource);
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
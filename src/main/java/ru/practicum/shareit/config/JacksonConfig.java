@@ -0,0 +1,44 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Настройки сериализации ответов.
+ * <p>
+ * Кроме JSON, ответы и тела запросов всех контроллеров доступны в двоичных форматах CBOR
+ * ({@code application/cbor}) и Smile ({@code application/x-jackson-smile}) — формат выбирается
+ * по заголовкам {@code Accept} и {@code Content-Type}. Двоичные преобразователи строятся тем же
+ * {@link Jackson2ObjectMapperBuilder}, что и JSON, поэтому сериализуют DTO одинаково; клиенты без
+ * этих заголовков или с {@code Accept: *}{@code /*} получают JSON.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Без выбора полей объекты с фильтром {@link ru.practicum.shareit.common.json.SparseFieldsFilter}
+     * сериализуются полностью.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsDefaultFilter() {
+        return builder -> builder.filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
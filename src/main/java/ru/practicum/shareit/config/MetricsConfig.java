@@ -0,0 +1,48 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.common.metrics.QueryCountingEventListener;
+import ru.practicum.shareit.common.metrics.QueryCountingStatementInspector;
+
+/**
+ * Метрики сервисного слоя и обращений к базе данных.
+ * <p>
+ * Методы сервисов, помеченных {@code @Timed}, измеряются таймерами с гистограммой перцентилей.
+ * Перехватчик SQL и слушатели событий Hibernate считают запросы, загруженные сущности
+ * и инициализированные коллекции каждого HTTP-запроса.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingStatementInspector() {
+        return properties -> properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingStatementInspector());
+    }
+
+    @Bean
+    public InitializingBean queryCountingEventListenerRegistrar(EntityManagerFactory entityManagerFactory) {
+        return () -> {
+            EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry()
+                    .getService(EventListenerRegistry.class);
+            QueryCountingEventListener listener = new QueryCountingEventListener();
+            registry.appendListeners(EventType.POST_LOAD, listener);
+            registry.appendListeners(EventType.INIT_COLLECTION, listener);
+        };
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class BatchException extends RuntimeException {
+    public BatchException(String message) {
+        super(message);
+    }
+}
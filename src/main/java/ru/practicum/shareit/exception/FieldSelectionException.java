@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class FieldSelectionException extends RuntimeException {
+    public FieldSelectionException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.exception;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -26,6 +27,18 @@ public class GlobalExceptionHandler {
         return createErrorResponse(ex.getMessage());
     }
 
+    /**
+     * Обрабатывает исключение BatchException и возвращает ответ с кодом BAD_REQUEST.
+     *
+     * @param ex исключение BatchException.
+     * @return карта с сообщением об ошибке.
+     */
+    @ExceptionHandler (BatchException.class)
+    @ResponseStatus (HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleBatchException(BatchException ex) {
+        return createErrorResponse(ex.getMessage());
+    }
+
     /**
      * Обрабатывает исключение CommentException и возвращает ответ с кодом BAD_REQUEST.
      *
@@ -38,6 +51,30 @@ public class GlobalExceptionHandler {
         return createErrorResponse(ex.getMessage());
     }
 
+    /**
+     * Обрабатывает исключение ItemRequestException и возвращает ответ с кодом BAD_REQUEST.
+     *
+     * @param ex исключение ItemRequestException.
+     * @return карта с сообщением об ошибке.
+     */
+    @ExceptionHandler (ItemRequestException.class)
+    @ResponseStatus (HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleItemRequestException(ItemRequestException ex) {
+        return createErrorResponse(ex.getMessage());
+    }
+
+    /**
+     * Обрабатывает исключение FieldSelectionException и возвращает ответ с кодом BAD_REQUEST.
+     *
+     * @param ex исключение FieldSelectionException.
+     * @return карта с сообщением об ошибке.
+     */
+    @ExceptionHandler (FieldSelectionException.class)
+    @ResponseStatus (HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleFieldSelectionException(FieldSelectionException ex) {
+        return createErrorResponse(ex.getMessage());
+    }
+
     /**
      * Обрабатывает исключение AccessDeniedException и возвращает ответ с кодом FORBIDDEN.
      *
@@ -74,6 +111,18 @@ public class GlobalExceptionHandler {
         return createErrorResponse(ex.getMessage());
     }
 
+    /**
+     * Обрабатывает конфликт оптимистической блокировки и возвращает ответ с кодом CONFLICT.
+     *
+     * @param ex исключение OptimisticLockingFailureException.
+     * @return карта с сообщением об ошибке.
+     */
+    @ExceptionHandler (OptimisticLockingFailureException.class)
+    @ResponseStatus (HttpStatus.CONFLICT)
+    public Map<String, String> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return createErrorResponse("Данные были изменены другим запросом, повторите операцию");
+    }
+
     /**
      * Утилитарный метод для создания ответа с сообщением об ошибке.
      *
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class ItemRequestException extends RuntimeException {
+    public ItemRequestException(String message) {
+        super(message);
+    }
+}
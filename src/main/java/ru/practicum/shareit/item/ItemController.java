@@ -4,6 +4,8 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,6 +16,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.common.batch.BatchResultDto;
+import ru.practicum.shareit.common.streaming.NdjsonResponseWriter;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ExtendedItemDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -21,6 +26,7 @@ import ru.practicum.shareit.item.dto.UpdateItemDto;
 import ru.practicum.shareit.item.repository.ItemService;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Контроллер для управления вещами.
@@ -34,6 +40,7 @@ public class ItemController {
 
     private static final String HEADER_SHARER_USER_ID = "X-Sharer-User-Id";
     private final ItemService itemService;
+    private final NdjsonResponseWriter ndjsonResponseWriter;
 
     /**
      * Создание новой вещи.
@@ -49,6 +56,19 @@ public class ItemController {
         return itemService.createItem(userId, dto);
     }
 
+    /**
+     * Пакетное создание вещей.
+     *
+     * @param dtos   список DTO вещей.
+     * @param userId ID пользователя.
+     * @return Созданные вещи и ошибки по отклонённым элементам.
+     */
+    @PostMapping("/batch")
+    public BatchResultDto<ItemDto> createItems(@RequestBody List<ItemDto> dtos, @RequestHeader(HEADER_SHARER_USER_ID) Long userId) {
+        log.info("Пакетное создание вещей для пользователя с ID = {}: {}", userId, dtos == null ? 0 : dtos.size());
+        return itemService.createItems(userId, dtos);
+    }
+
     /**
      * Обновление вещи.
      *
@@ -90,6 +110,18 @@ public class ItemController {
         return itemService.getAllItemsByOwner(userId);
     }
 
+    /**
+     * Потоковая выдача всех вещей пользователя в формате NDJSON ({@code Accept: application/x-ndjson}).
+     *
+     * @param userId ID пользователя.
+     * @return ответ, в тело которого построчно пишутся объекты ItemDto.
+     */
+    @GetMapping (produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllItemsByOwner(@RequestHeader(HEADER_SHARER_USER_ID) Long userId) {
+        log.info("Запрос на потоковую выдачу вещей пользователя с ID = {}", userId);
+        return ndjsonResponseWriter.<ItemDto>write(consumer -> itemService.streamAllItemsByOwner(userId, consumer));
+    }
+
     /**
      * Поиск вещей по тексту.
      *
@@ -104,6 +136,20 @@ public class ItemController {
         return itemService.searchItems(text);
     }
 
+    /**
+     * Подсказки названий доступных вещей по началу названия.
+     *
+     * @param prefix Начало названия.
+     * @param limit  Сколько подсказок вернуть.
+     * @param userId ID пользователя.
+     * @return Список названий.
+     */
+    @GetMapping("/suggest")
+    public Collection<String> suggestItemNames(@RequestParam String prefix, @RequestParam(required = false) Integer limit,
+                                               @RequestHeader(HEADER_SHARER_USER_ID) Long userId) {
+        return itemService.suggestItemNames(prefix, limit);
+    }
+
     /**
      * Добавление комментария к вещи.
      *
@@ -1,12 +1,93 @@
 package ru.practicum.shareit.item;
 
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.item.request.dto.ItemRequestDto;
+import ru.practicum.shareit.item.request.dto.ItemRequestPageDto;
+import ru.practicum.shareit.item.request.repository.ItemRequestService;
+
+import java.util.Collection;
 
 /**
- * TODO Sprint add-item-requests.
+ * Контроллер запросов вещей.
+ * Пользователь описывает нужную вещь, владельцы отвечают на запрос, добавляя вещь с ID запроса.
  */
+@Slf4j
 @RestController
+@RequiredArgsConstructor
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
+
+    private static final String HEADER_SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private final ItemRequestService itemRequestService;
+
+    /**
+     * Создание запроса вещи.
+     *
+     * @param dto    DTO запроса.
+     * @param userId ID пользователя.
+     * @return Созданный запрос.
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public ItemRequestDto createRequest(@Valid @RequestBody ItemRequestDto dto, @RequestHeader(HEADER_SHARER_USER_ID) long userId) {
+        log.info("Создание запроса вещи пользователем с ID = {}", userId);
+        return itemRequestService.createRequest(userId, dto);
+    }
+
+    /**
+     * Получение своих запросов с ответами, от новых к старым.
+     *
+     * @param userId ID пользователя.
+     * @return Запросы пользователя.
+     */
+    @GetMapping
+    public Collection<ItemRequestDto> getOwnRequests(@RequestHeader(HEADER_SHARER_USER_ID) long userId) {
+        return itemRequestService.getOwnRequests(userId);
+    }
+
+    /**
+     * Получение страницы запросов других пользователей, от новых к старым.
+     * Курсор следующей страницы передаётся в заголовке {@value #NEXT_CURSOR_HEADER}.
+     *
+     * @param userId ID пользователя.
+     * @param cursor курсор предыдущей страницы.
+     * @param size   размер страницы.
+     * @return Страница запросов.
+     */
+    @GetMapping("/all")
+    public ResponseEntity<Collection<ItemRequestDto>> getOtherRequests(@RequestHeader(HEADER_SHARER_USER_ID) long userId,
+                                                                      @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        ItemRequestPageDto page = itemRequestService.getOtherRequests(userId, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.requests());
+    }
+
+    /**
+     * Получение запроса с ответами.
+     *
+     * @param userId    ID пользователя.
+     * @param requestId ID запроса.
+     * @return Запрос.
+     */
+    @GetMapping("/{requestId}")
+    public ItemRequestDto getRequest(@RequestHeader(HEADER_SHARER_USER_ID) long userId, @PathVariable long requestId) {
+        return itemRequestService.getRequest(userId, requestId);
+    }
 }
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.coalescing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Настройки объединения одновременных запросов вещи по ID.
+ *
+ * @param enabled включено ли объединение.
+ * @param ttl     сколько отдавать загруженную вещь повторным запросам; 0 — объединять только
+ *                одновременные запросы.
+ */
+@ConfigurationProperties (prefix = "shareit.item.coalescing")
+public record ItemCoalescingProperties(@DefaultValue ("true") boolean enabled,
+                                       @DefaultValue ("1s") Duration ttl) {
+}
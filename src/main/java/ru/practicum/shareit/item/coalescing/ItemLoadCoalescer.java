@@ -0,0 +1,65 @@
+package ru.practicum.shareit.item.coalescing;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.stream.BookingChangedEvent;
+import ru.practicum.shareit.common.coalescing.SingleFlight;
+import ru.practicum.shareit.common.transaction.TransactionCallbacks;
+import ru.practicum.shareit.item.dto.ExtendedItemDto;
+
+import java.util.function.Supplier;
+
+/**
+ * Объединяет одновременные запросы расширенной информации о вещи: при всплеске обращений к одной вещи
+ * её загрузка и сводка бронирований вычисляются один раз и отдаются всем ожидающим.
+ * <p>
+ * Результат сбрасывается после фиксации изменения вещи, нового комментария и при создании бронирования
+ * или изменении его статуса.
+ */
+@Component
+public class ItemLoadCoalescer {
+
+    private final ItemCoalescingProperties properties;
+    private final SingleFlight<Long, ExtendedItemDto> flights;
+
+    public ItemLoadCoalescer(ItemCoalescingProperties properties) {
+        this.properties = properties;
+        this.flights = new SingleFlight<>(properties.ttl());
+    }
+
+    /**
+     * Возвращает вещь, присоединяясь к уже идущей загрузке, если она есть.
+     *
+     * @param itemId ID вещи.
+     * @param loader загрузка вещи.
+     * @return расширенная информация о вещи.
+     */
+    public ExtendedItemDto load(long itemId, Supplier<ExtendedItemDto> loader) {
+        if (! properties.enabled()) {
+            return loader.get();
+        }
+        return flights.load(itemId, loader);
+    }
+
+    /**
+     * Сбрасывает результат для вещи после фиксации текущей транзакции.
+     *
+     * @param itemId ID вещи.
+     */
+    public void invalidateAfterCommit(long itemId) {
+        TransactionCallbacks.afterCommit(() -> flights.invalidate(itemId));
+    }
+
+    @TransactionalEventListener (fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (event.booking().getItem() != null && event.booking().getItem().getId() != null) {
+            flights.invalidate(event.booking().getItem().getId());
+        }
+    }
+
+    @Scheduled (fixedDelayString = "${shareit.item.coalescing.purge-interval:PT1M}")
+    void purgeExpired() {
+        flights.purgeExpired();
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.comment;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Утилитный класс для проверки права пользователя оставить комментарий к вещи.
+ */
+@NoArgsConstructor (access = AccessLevel.PRIVATE)
+public class CommentEligibility {
+
+    /**
+     * Проверяет, есть ли среди бронирований автора завершённое бронирование вещи.
+     *
+     * @param authorBookings бронирования автора комментария.
+     * @param itemId         ID вещи.
+     * @param now            текущий момент времени.
+     * @return true, если хотя бы одно бронирование вещи закончилось до текущего момента.
+     */
+    public static boolean hasFinishedBooking(Collection<Booking> authorBookings, long itemId, LocalDateTime now) {
+        for (Booking booking : authorBookings) {
+            if (booking.getEnd().isBefore(now) && booking.getItem().getId() == itemId) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
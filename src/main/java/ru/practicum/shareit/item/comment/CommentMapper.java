@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.comment;
 
+import ru.practicum.shareit.common.loader.LoadedEntities;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.model.Comment;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -35,9 +36,10 @@ public class CommentMapper {
      * Преобразует сущность Comment в объект CommentDto.
      *
      * @param comment объект сущности Comment.
+     * @param loaded  заранее загруженные вещи и пользователи.
      * @return объект DTO с данными комментария.
      */
-    public static CommentDto toCommentDto(Comment comment) {
+    public static CommentDto toCommentDto(Comment comment, LoadedEntities loaded) {
         if (comment == null) {
             throw new IllegalArgumentException("Комментарий не может быть null");
         }
@@ -45,8 +47,8 @@ public class CommentMapper {
         return CommentDto.builder()
                 .id(comment.getId())
                 .text(comment.getText())
-                .item(ItemMapper.mapToItemDto(comment.getItem()))
-                .authorName(comment.getAuthor() != null ? comment.getAuthor().getName() : null)
+                .item(ItemMapper.mapToItemDto(loaded.item(comment.getItem().getId()), loaded))
+                .authorName(comment.getAuthor() != null ? loaded.user(comment.getAuthor().getId()).getName() : null)
                 .created(comment.getCreateDate())
                 .build();
     }
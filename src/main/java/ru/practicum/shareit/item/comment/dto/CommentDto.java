@@ -1,15 +1,18 @@
 package ru.practicum.shareit.item.comment.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
 import org.hibernate.validator.constraints.Length;
+import ru.practicum.shareit.common.json.SparseFieldsFilter;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.time.LocalDateTime;
 
+@JsonFilter (SparseFieldsFilter.NAME)
 @Builder (toBuilder = true)
 @Data
 @FieldDefaults (level = AccessLevel.PRIVATE, makeFinal = true)
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.comment.dto;
+
+/**
+ * Текст комментария с ID вещи, к которой он относится.
+ */
+public record ItemCommentText(Long itemId, String text) {
+}
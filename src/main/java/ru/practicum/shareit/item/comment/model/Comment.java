@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.comment.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -34,12 +35,15 @@ public class Comment {
     @Column (name = "comment_id")
     private long id;
 
+    @Column (length = 512)
     private String text;
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne (fetch = FetchType.LAZY)
     @JoinColumn (name = "item_id", nullable = false)
     private Item item;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne (fetch = FetchType.LAZY)
     @JoinColumn (name = "user_id", nullable = false)
     private User author;
 
@@ -1,7 +1,15 @@
 package ru.practicum.shareit.item.comment.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.comment.dto.ItemCommentText;
 import ru.practicum.shareit.item.comment.model.Comment;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    @Query (" SELECT new ru.practicum.shareit.item.comment.dto.ItemCommentText(c.item.id, c.text) FROM Comment c WHERE c.item.id IN ?1 ORDER BY c.id ")
+    List<ItemCommentText> findTextsByItemIdIn(Collection<Long> itemIds);
 }
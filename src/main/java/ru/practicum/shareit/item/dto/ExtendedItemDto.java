@@ -1,13 +1,16 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.common.json.SparseFieldsFilter;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 
+@JsonFilter (SparseFieldsFilter.NAME)
 @Builder (toBuilder = true)
 @Data
 @FieldDefaults (level = AccessLevel.PRIVATE, makeFinal = true)
@@ -1,13 +1,16 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
 import lombok.Data;
+import ru.practicum.shareit.common.json.SparseFieldsFilter;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.Collection;
 
+@JsonFilter (SparseFieldsFilter.NAME)
 @Data
 @Builder
 public class ItemDto {
@@ -24,7 +27,7 @@ public class ItemDto {
 
     private User owner;
 
-    private ItemExtendedDto request;
+    private Long requestId;
 
     private Collection<String> comments;
 
@@ -1,26 +0,0 @@
-package ru.practicum.shareit.item.dto;
-
-import jakarta.persistence.Column;
-import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
-import jakarta.persistence.ManyToOne;
-import lombok.Builder;
-import lombok.Data;
-import ru.practicum.shareit.user.model.User;
-
-import java.time.LocalDateTime;
-
-@Builder
-@Data
-public class ItemExtendedDto {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(name = "request_id")
-    private Long id;
-    private String description;
-    @ManyToOne(fetch = FetchType.LAZY)
-    private User requestor;
-    private LocalDateTime created;
-}
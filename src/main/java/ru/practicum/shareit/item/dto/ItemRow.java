@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.dto;
+
+/**
+ * Плоская строка вещи для списков: только столбцы, нужные {@link ItemDto}, без загрузки сущностей
+ * в контекст персистентности.
+ */
+public record ItemRow(Long id, String name, String description, Boolean available,
+                      Long ownerId, String ownerName, String ownerEmail, Long requestId) {
+}
@@ -2,14 +2,16 @@ package ru.practicum.shareit.item.mapper;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.availability.ItemBookingSummary;
+import ru.practicum.shareit.common.loader.LoadedEntities;
 import ru.practicum.shareit.item.dto.ExtendedItemDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemRow;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
 
-import java.time.LocalDateTime;
-import java.util.Collection;
-import java.util.Comparator;
+import java.util.List;
 
 /**
  * Утилитарный класс для преобразования объектов Item и ItemDto.
@@ -30,53 +32,65 @@ public class ItemMapper {
                 .description(itemDto.getDescription())
                 .available(itemDto.getAvailable())
                 .owner(itemDto.getOwner())
+                .requestId(itemDto.getRequestId())
                 .build();
     }
 
     /**
      * Преобразует объект Item в объект ItemDto.
      *
-     * @param item объект Item для преобразования.
+     * @param item   объект Item для преобразования.
+     * @param loaded заранее загруженные владельцы и комментарии.
      * @return объект ItemDto.
      */
-    public static ItemDto mapToItemDto(Item item) {
+    public static ItemDto mapToItemDto(Item item, LoadedEntities loaded) {
         return ItemDto.builder()
                 .id(item.getId())
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.getAvailable())
-                .owner(item.getOwner())
-                .comments(item.getComments())
+                .owner(item.getOwner() == null ? null : UserMapper.copyOf(loaded.user(item.getOwner().getId())))
+                .requestId(item.getRequestId())
+                .comments(loaded.comments(item.getId()))
                 .build();
     }
 
     /**
-     * Преобразует объект Item и связанные с ним бронирования в объект ExtendedItemDto.
+     * Преобразует строку вещи в объект ItemDto.
      *
-     * @param item объект Item для преобразования.
-     * @param itemBookings коллекция бронирований, связанных с данным предметом.
+     * @param row      строка вещи.
+     * @param comments тексты комментариев к вещи.
+     * @return объект ItemDto.
+     */
+    public static ItemDto mapToItemDto(ItemRow row, List<String> comments) {
+        return ItemDto.builder()
+                .id(row.id())
+                .name(row.name())
+                .description(row.description())
+                .available(row.available())
+                .owner(row.ownerId() == null ? null : User.builder().id(row.ownerId()).name(row.ownerName()).email(row.ownerEmail()).build())
+                .requestId(row.requestId())
+                .comments(comments)
+                .build();
+    }
+
+    /**
+     * Преобразует объект Item и сводку его бронирований в объект ExtendedItemDto.
+     *
+     * @param item    объект Item для преобразования.
+     * @param summary сводка бронирований данного предмета.
+     * @param loaded  заранее загруженные комментарии.
      * @return объект ExtendedItemDto.
      */
-    public static ExtendedItemDto mapToExtendedItemDto(Item item, Collection<Booking> itemBookings) {
-        ExtendedItemDto.ExtendedItemDtoBuilder builder = ExtendedItemDto.builder()
+    public static ExtendedItemDto mapToExtendedItemDto(Item item, ItemBookingSummary summary, LoadedEntities loaded) {
+        return ExtendedItemDto.builder()
                 .id(item.getId())
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.getAvailable())
-                .comments(item.getComments());
-
-        // Устанавливаем последнее бронирование, если доступно
-        itemBookings.stream()
-                .filter(b -> b.getStart().isBefore(LocalDateTime.now()) && b.getEnd().isAfter(LocalDateTime.now()))
-                .findFirst()
-                .ifPresent(booking -> builder.lastBooking(booking.getEnd()));
-
-        // Устанавливаем следующее бронирование, если доступно
-        itemBookings.stream()
-                .filter(b -> b.getStart().isAfter(LocalDateTime.now()))
-                .min(Comparator.comparing(Booking::getStart))
-                .ifPresent(booking -> builder.nextBooking(booking.getStart()));
-
-        return builder.build();
+                .comments(loaded.comments(item.getId()))
+                .lastBooking(summary.lastBooking())
+                .nextBooking(summary.nextBooking())
+                .build();
     }
 }
\ No newline at end of file
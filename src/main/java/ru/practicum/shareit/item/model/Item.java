@@ -10,6 +10,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -34,7 +35,8 @@ import java.util.List;
 public class Item {
 
     @Id
-    @GeneratedValue (strategy = GenerationType.IDENTITY)
+    @GeneratedValue (strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator (name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     @Column (name = "item_id")
     Long id;
 
@@ -47,9 +49,12 @@ public class Item {
     Boolean available;
 
     @JoinColumn (name = "user_id")
-    @ManyToOne
+    @ManyToOne (fetch = FetchType.LAZY)
     User owner;
 
+    @Column (name = "request_id")
+    Long requestId;
+
 
     @ToString.Exclude
     @ElementCollection (fetch = FetchType.LAZY)
@@ -2,13 +2,35 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemRow;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.request.dto.ItemAnswerDto;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findByOwnerId(long userId);
 
-    @Query (" SELECT i FROM Item i WHERE i.available = true AND ( i.name ILIKE %?1% OR i.description ILIKE %?1% ) ")
-    List<Item> findByNameOrDescriptionContainingIgnoreCase(String searchText);
+    String ITEM_ROW = " SELECT new ru.practicum.shareit.item.dto.ItemRow(i.id, i.name, i.description, i.available, o.id, o.name, o.email, i.requestId) " +
+            " FROM Item i LEFT JOIN i.owner o ";
+
+    @Query (ITEM_ROW + " WHERE i.id = ?1 ")
+    Optional<ItemRow> findRowById(long itemId);
+
+    @Query (ITEM_ROW + " WHERE o.id = ?1 ORDER BY i.id ")
+    List<ItemRow> findRowsByOwnerId(long ownerId);
+
+    @Query (ITEM_ROW + " WHERE o.id = ?1 ORDER BY i.id ")
+    Stream<ItemRow> streamRowsByOwnerId(long ownerId);
+
+    @Query (ITEM_ROW + " WHERE i.id IN ?1 ORDER BY i.id ")
+    List<ItemRow> findRowsByIdIn(Collection<Long> ids);
+
+    @Query (" SELECT new ru.practicum.shareit.item.request.dto.ItemAnswerDto(i.id, i.name, i.owner.id, i.requestId) " +
+            " FROM Item i WHERE i.requestId IN ?1 ORDER BY i.id ")
+    List<ItemAnswerDto> findAnswersByRequestIdIn(Collection<Long> requestIds);
+
+    List<Item> findByAvailableTrue();
 }
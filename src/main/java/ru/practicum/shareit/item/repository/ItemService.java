@@ -1,26 +1,40 @@
 package ru.practicum.shareit.item.repository;
 
+import ru.practicum.shareit.common.batch.BatchResultDto;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ExtendedItemDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemRow;
 import ru.practicum.shareit.item.dto.UpdateItemDto;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ItemService {
     ItemDto createItem(Long userId, ItemDto dto);
 
+    BatchResultDto<ItemDto> createItems(Long userId, List<ItemDto> dtos);
+
     ItemDto updateItem(Long itemId, UpdateItemDto dto, Long userId);
 
     ExtendedItemDto getItemById(Long itemId);
 
     Collection<ItemDto> getAllItemsByOwner(Long id);
 
+    void streamAllItemsByOwner(Long id, Consumer<ItemDto> consumer);
+
     Collection<ItemDto> searchItems(String text);
 
+    List<String> suggestItemNames(String prefix, Integer limit);
+
     CommentDto addCommentToItem(long authorId, long itemId, CommentDto comment);
 
-    Optional<Item> findById(Long itemId);
+    Optional<ItemRow> findRowById(Long itemId);
+
+    Item getReference(Long itemId);
+
+    List<Item> findAllById(Collection<Long> itemIds);
 }
@@ -1,36 +1,68 @@
 package ru.practicum.shareit.item.repository.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityIndex;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingArchiveRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.batch.BatchExecutor;
+import ru.practicum.shareit.common.batch.BatchRow;
+import ru.practicum.shareit.common.batch.BatchResultDto;
+import ru.practicum.shareit.common.loader.EntityBatchLoader;
+import ru.practicum.shareit.common.loader.LoadedEntities;
+import ru.practicum.shareit.common.streaming.Chunks;
+import ru.practicum.shareit.common.streaming.StreamingProperties;
+import ru.practicum.shareit.common.transaction.TransactionCallbacks;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.CommentException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.coalescing.ItemLoadCoalescer;
+import ru.practicum.shareit.item.comment.CommentEligibility;
 import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.model.Comment;
 import ru.practicum.shareit.item.comment.repository.CommentRepository;
 import ru.practicum.shareit.item.dto.ExtendedItemDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemRow;
 import ru.practicum.shareit.item.dto.UpdateItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.repository.ItemService;
+import ru.practicum.shareit.item.request.matching.ItemRequestMatchingProperties;
+import ru.practicum.shareit.item.request.matching.OpenRequestIndex;
+import ru.practicum.shareit.item.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSuggestIndex;
 import ru.practicum.shareit.user.interfaces.UserService;
+import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Timed (value = "shareit.service", histogram = true)
 @FieldDefaults (level = AccessLevel.PRIVATE, makeFinal = true)
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
@@ -38,18 +70,67 @@ public class ItemServiceImpl implements ItemService {
     UserService userRepository;
     ItemRepository itemRepository;
     BookingRepository bookingRepository;
+    BookingArchiveRepository archiveRepository;
     CommentRepository commentRepository;
+    ItemSearchIndex itemSearchIndex;
+    ItemSuggestIndex itemSuggestIndex;
+    ItemAvailabilityIndex availabilityIndex;
+    EntityBatchLoader batchLoader;
+    StreamingProperties streamingProperties;
+    BatchExecutor batchExecutor;
+    ItemLoadCoalescer loadCoalescer;
+    ItemRequestRepository itemRequestRepository;
+    OpenRequestIndex openRequestIndex;
+    ItemRequestMatchingProperties requestMatching;
 
     @Override
+    @Transactional
     public ItemDto createItem(Long userId, ItemDto dto) {
         userRepository.findById(userId);
         log.debug("Добавление новой вещи с именем: {} пользователю с id = {}", dto.getName(), userId);
         Item item = ItemMapper.mapToItem(dto);
         item.setOwner(userRepository.findById(userId).orElseThrow(() -> new NotFoundException(String.format("Пользователь с id = %d не найден", userId))));
-        return ItemMapper.mapToItemDto(itemRepository.save(item));
+        if (item.getRequestId() != null && ! itemRequestRepository.existsById(item.getRequestId())) {
+            throw new NotFoundException(String.format("Запрос с id = %d не найден", item.getRequestId()));
+        }
+        linkRequest(item, userId);
+        Item saved = itemRepository.save(item);
+        TransactionCallbacks.afterCommit(() -> itemSearchIndex.index(saved));
+        TransactionCallbacks.afterCommit(() -> itemSuggestIndex.index(saved));
+        closeAnsweredRequests(List.of(saved));
+        return toItemDtos(List.of(saved)).getFirst();
     }
 
     @Override
+    public BatchResultDto<ItemDto> createItems(Long userId, List<ItemDto> dtos) {
+        User owner = userRepository.findById(userId).orElseThrow(() -> new NotFoundException(String.format("Пользователь с id = %d не найден", userId)));
+        log.debug("Пакетное добавление вещей пользователю с id = {}: {}", userId, dtos == null ? 0 : dtos.size());
+        return batchExecutor.execute(dtos, (chunk, reject) -> {
+            Set<Long> requestIds = existingRequestIds(chunk);
+            List<Item> items = new ArrayList<>(chunk.size());
+            for (BatchRow<ItemDto> row : chunk) {
+                Long requestId = row.value().getRequestId();
+                if (requestId != null && ! requestIds.contains(requestId)) {
+                    reject.accept(row, String.format("Запрос с id = %d не найден", requestId));
+                    continue;
+                }
+                Item item = ItemMapper.mapToItem(row.value());
+                item.setId(null);
+                item.setOwner(owner);
+                linkRequest(item, userId);
+                items.add(item);
+            }
+            List<Item> saved = itemRepository.saveAll(items);
+            TransactionCallbacks.afterCommit(() -> saved.forEach(itemSearchIndex::index));
+            TransactionCallbacks.afterCommit(() -> saved.forEach(itemSuggestIndex::index));
+            closeAnsweredRequests(saved);
+            return toItemDtos(saved);
+        });
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict (cacheNames = CacheConfig.ITEMS, key = "#itemId")
     public ItemDto updateItem(Long itemId, UpdateItemDto dto, Long userId) {
         Item item = itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException(String.format("Вещь с id = %d не найдена", itemId)));
         if (! item.getOwner().getId().equals(userId)) {
@@ -66,61 +147,141 @@ public class ItemServiceImpl implements ItemService {
         if (dto.available() != null) {
             item.setAvailable(dto.available());
         }
-        return ItemMapper.mapToItemDto(itemRepository.save(item));
+        Item saved = itemRepository.save(item);
+        TransactionCallbacks.afterCommit(() -> itemSearchIndex.index(saved));
+        TransactionCallbacks.afterCommit(() -> itemSuggestIndex.index(saved));
+        loadCoalescer.invalidateAfterCommit(itemId);
+        return toItemDtos(List.of(saved)).getFirst();
     }
 
     @Override
+    @Transactional (readOnly = true)
     public ExtendedItemDto getItemById(Long itemId) {
-        Item item = itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException(String.format("Вещь с id = %d не найдена", itemId)));
+        return loadCoalescer.load(itemId, () -> {
+            Item item = itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException(String.format("Вещь с id = %d не найдена", itemId)));
 
-        Collection<Booking> bookings = bookingRepository.findByItemId(itemId);
-
-        return ItemMapper.mapToExtendedItemDto(item, bookings);
+            return ItemMapper.mapToExtendedItemDto(item, availabilityIndex.summary(itemId), batchLoader.forItems(List.of(item)));
+        });
     }
 
     @Override
+    @Transactional (readOnly = true)
     public Collection<ItemDto> getAllItemsByOwner(Long id) {
         log.debug("Получение списка всех вещей пользовтеля с id = {}", id);
-        return itemRepository.findByOwnerId(id).stream()
-                .map(ItemMapper::mapToItemDto)
-                .toList();
+        return rowsToItemDtos(itemRepository.findRowsByOwnerId(id));
+    }
+
+    @Override
+    @Transactional (readOnly = true)
+    public void streamAllItemsByOwner(Long id, Consumer<ItemDto> consumer) {
+        log.debug("Потоковая выдача всех вещей пользователя с id = {}", id);
+        try (Stream<ItemRow> items = itemRepository.streamRowsByOwnerId(id)) {
+            Chunks.forEach(items, streamingProperties.chunkSize(), chunk -> rowsToItemDtos(chunk).forEach(consumer));
+        }
     }
 
     @Override
+    @Transactional (readOnly = true)
     public Collection<ItemDto> searchItems(String text) {
         if (text == null || text.isBlank()) {
             return Collections.emptyList();
         }
 
-        return  findByNameOrDescriptionContainingIgnoreCase(text).stream()
-                .map(ItemMapper::mapToItemDto)
-                .toList();
+        List<Long> ids = itemSearchIndex.search(text);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return rowsToItemDtos(itemRepository.findRowsByIdIn(ids));
+    }
+
+    @Override
+    public List<String> suggestItemNames(String prefix, Integer limit) {
+        return itemSuggestIndex.suggest(prefix, limit);
     }
 
     @Override
+    @Transactional
     public CommentDto addCommentToItem(long authorId, long itemId, CommentDto commentDto) {
         Comment comment = CommentMapper.toComment(authorId, itemId, commentDto);
         Collection<Booking> authorBookings = bookingRepository.findByBookerIdAndItemId(comment.getAuthor().getId(), comment.getItem().getId());
 
-        if (authorBookings.isEmpty() || authorBookings.stream()
-                .filter(b -> b.getEnd().isBefore(LocalDateTime.now()))
-                .filter(booking -> booking.getItem().getId() == itemId)
-                .toList().isEmpty()) {
+        boolean eligible = CommentEligibility.hasFinishedBooking(authorBookings, itemId, LocalDateTime.now())
+                || archiveRepository.existsByBookerIdAndItemId(comment.getAuthor().getId(), comment.getItem().getId());
+        if (! eligible) {
             throw new CommentException(String.format("Пользователь с id = %d не может оставить комментарии к вещи с id = %d", comment.getAuthor().getId(), comment.getItem().getId()));
         }
 
         comment.setItem(itemRepository.findById(comment.getItem().getId()).orElseThrow(() -> new NotFoundException(String.format("Вещь с id = %d не найдена", comment.getItem().getId()))));
         comment.setAuthor(userRepository.findById(comment.getAuthor().getId()).orElseThrow(() -> new NotFoundException(String.format("Пользователь с id = %d не найден", comment.getAuthor().getId()))));
 
-        return CommentMapper.toCommentDto(commentRepository.save(comment));
+        Comment saved = commentRepository.save(comment);
+        loadCoalescer.invalidateAfterCommit(itemId);
+        return CommentMapper.toCommentDto(saved, batchLoader.forComments(List.of(saved)));
     }
 
     @Override
-    public Optional<Item> findById(Long itemId) {
-        return itemRepository.findById(itemId);
+    @Transactional (readOnly = true)
+    @Cacheable (cacheNames = CacheConfig.ITEMS, unless = "#result == null")
+    public Optional<ItemRow> findRowById(Long itemId) {
+        return itemRepository.findRowById(itemId);
     }
 
-    List<Item> findByNameOrDescriptionContainingIgnoreCase(String searchText) {
-        return itemRepository.findByNameOrDescriptionContainingIgnoreCase(searchText);
+    @Override
+    public Item getReference(Long itemId) {
+        return itemRepository.getReferenceById(itemId);
+    }
+
+    @Override
+    @Transactional (readOnly = true)
+    public List<Item> findAllById(Collection<Long> itemIds) {
+        return itemRepository.findAllById(itemIds);
+    }
+
+    /**
+     * Привязывает вещь, добавленную без ID запроса, к подходящему открытому запросу другого пользователя.
+     *
+     * @param item    новая вещь.
+     * @param ownerId ID владельца вещи.
+     */
+    private void linkRequest(Item item, long ownerId) {
+        if (item.getRequestId() != null || ! requestMatching.autoLink()) {
+            return;
+        }
+        openRequestIndex.match(ownerId, item.getName()).ifPresent(requestId -> {
+            log.debug("Вещь {} привязана к открытому запросу с id = {}", item.getName(), requestId);
+            item.setRequestId(requestId);
+        });
+    }
+
+    /**
+     * После фиксации транзакции убирает из индекса открытых запросов запросы, на которые ответили вещи.
+     *
+     * @param items сохранённые вещи.
+     */
+    private void closeAnsweredRequests(Collection<Item> items) {
+        List<Long> requestIds = items.stream().map(Item::getRequestId).filter(Objects::nonNull).distinct().toList();
+        if (! requestIds.isEmpty()) {
+            TransactionCallbacks.afterCommit(() -> requestIds.forEach(openRequestIndex::remove));
+        }
+    }
+
+    private Set<Long> existingRequestIds(List<BatchRow<ItemDto>> chunk) {
+        List<Long> requestIds = chunk.stream().map(row -> row.value().getRequestId()).filter(Objects::nonNull).distinct().toList();
+        return requestIds.isEmpty() ? Set.of() : new HashSet<>(itemRequestRepository.findExistingIds(requestIds));
+    }
+
+    private List<ItemDto> rowsToItemDtos(List<ItemRow> items) {
+        Map<Long, List<String>> comments = batchLoader.commentTexts(items.stream().map(ItemRow::id).toList());
+        return items.stream()
+                .map(item -> ItemMapper.mapToItemDto(item, comments.getOrDefault(item.id(), List.of())))
+                .toList();
+    }
+
+    private List<ItemDto> toItemDtos(List<Item> items) {
+        LoadedEntities loaded = batchLoader.forItems(items);
+        return items.stream()
+                .map(item -> ItemMapper.mapToItemDto(item, loaded))
+                .toList();
     }
 }
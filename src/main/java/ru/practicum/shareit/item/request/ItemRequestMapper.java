@@ -0,0 +1,67 @@
+package ru.practicum.shareit.item.request;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.item.request.dto.ItemAnswerDto;
+import ru.practicum.shareit.item.request.dto.ItemRequestDto;
+import ru.practicum.shareit.item.request.dto.ItemRequestRow;
+import ru.practicum.shareit.item.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Утилитарный класс для преобразования объектов ItemRequest и ItemRequestDto.
+ */
+@NoArgsConstructor (access = AccessLevel.PRIVATE)
+public class ItemRequestMapper {
+
+    /**
+     * Преобразует объект ItemRequestDto в сущность ItemRequest.
+     *
+     * @param dto       объект DTO с описанием запроса.
+     * @param requestor автор запроса.
+     * @param created   дата создания запроса.
+     * @return созданная сущность ItemRequest.
+     */
+    public static ItemRequest toItemRequest(ItemRequestDto dto, User requestor, LocalDateTime created) {
+        return ItemRequest.builder()
+                .description(dto.getDescription())
+                .requestor(requestor)
+                .created(created)
+                .build();
+    }
+
+    /**
+     * Преобразует сущность ItemRequest в объект ItemRequestDto.
+     *
+     * @param request сущность запроса.
+     * @param answers вещи, добавленные в ответ на запрос.
+     * @return объект ItemRequestDto.
+     */
+    public static ItemRequestDto toItemRequestDto(ItemRequest request, List<ItemAnswerDto> answers) {
+        return ItemRequestDto.builder()
+                .id(request.getId())
+                .description(request.getDescription())
+                .created(request.getCreated())
+                .items(answers)
+                .build();
+    }
+
+    /**
+     * Преобразует строку запроса в объект ItemRequestDto.
+     *
+     * @param row     строка запроса.
+     * @param answers вещи, добавленные в ответ на запрос.
+     * @return объект ItemRequestDto.
+     */
+    public static ItemRequestDto toItemRequestDto(ItemRequestRow row, List<ItemAnswerDto> answers) {
+        return ItemRequestDto.builder()
+                .id(row.id())
+                .description(row.description())
+                .created(row.created())
+                .items(answers)
+                .build();
+    }
+}
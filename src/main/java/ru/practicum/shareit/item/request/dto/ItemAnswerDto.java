@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.request.dto;
+
+/**
+ * Вещь, добавленная в ответ на запрос.
+ *
+ * @param id        ID вещи.
+ * @param name      название вещи.
+ * @param ownerId   ID владельца вещи.
+ * @param requestId ID запроса.
+ */
+public record ItemAnswerDto(Long id, String name, Long ownerId, Long requestId) {
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.request.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class ItemRequestDto {
+    private Long id;
+
+    @NotBlank
+    @Size (max = 512)
+    private String description;
+
+    private LocalDateTime created;
+
+    private List<ItemAnswerDto> items;
+}
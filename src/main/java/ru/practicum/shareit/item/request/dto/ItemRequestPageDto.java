@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.request.dto;
+
+import java.util.List;
+
+/**
+ * Страница запросов и курсор следующей страницы (null, если страница последняя).
+ */
+public record ItemRequestPageDto(List<ItemRequestDto> requests, String nextCursor) {
+}
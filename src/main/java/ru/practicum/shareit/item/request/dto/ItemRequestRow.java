@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.request.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Плоская строка запроса для списков: только столбцы, нужные {@link ItemRequestDto}, без загрузки
+ * запроса и автора в контекст персистентности.
+ */
+public record ItemRequestRow(Long id, String description, LocalDateTime created) {
+}
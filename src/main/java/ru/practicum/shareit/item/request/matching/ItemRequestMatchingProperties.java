@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.request.matching;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Настройки привязки новых вещей к открытым запросам.
+ *
+ * @param autoLink привязывать ли вещь, добавленную без ID запроса, к подходящему открытому запросу.
+ *                 Привязка сохраняется в вещи без подтверждения владельца, поэтому по умолчанию выключена.
+ */
+@ConfigurationProperties (prefix = "shareit.item.request.matching")
+public record ItemRequestMatchingProperties(@DefaultValue ("false") boolean autoLink) {
+}
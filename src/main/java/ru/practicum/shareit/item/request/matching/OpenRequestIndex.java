@@ -0,0 +1,142 @@
+package ru.practicum.shareit.item.request.matching;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.request.model.ItemRequest;
+import ru.practicum.shareit.item.request.repository.ItemRequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Инвертированный индекс ключевых слов открытых запросов — запросов, на которые ещё не ответили.
+ * <p>
+ * Ключ слова — первые {@link #STEM_LENGTH} символов слова длиной не меньше {@link #MIN_WORD_LENGTH},
+ * приведённого к нижнему регистру: так «дрель» и «дрелью» дают один ключ. Новая вещь подходит запросу,
+ * если в описании запроса встречаются все ключи названия вещи. Кандидаты находятся пересечением
+ * списков запросов по ключам названия, начиная с самого короткого, без перебора всех открытых запросов.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OpenRequestIndex {
+
+    static final int MIN_WORD_LENGTH = 3;
+    static final int STEM_LENGTH = 5;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final Comparator<OpenRequest> OLDEST_FIRST = Comparator.comparing(OpenRequest::created)
+            .thenComparingLong(OpenRequest::id);
+
+    private final ItemRequestRepository itemRequestRepository;
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, OpenRequest> requests = new ConcurrentHashMap<>();
+
+    /**
+     * Перестраивает индекс по всем открытым запросам при старте приложения.
+     */
+    @EventListener (ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        postings.clear();
+        requests.clear();
+        itemRequestRepository.findOpen().forEach(this::add);
+        log.info("Индекс открытых запросов построен: {} запросов, {} ключевых слов", requests.size(), postings.size());
+    }
+
+    /**
+     * Добавляет открытый запрос в индекс.
+     *
+     * @param request запрос.
+     */
+    public synchronized void add(ItemRequest request) {
+        remove(request.getId());
+        OpenRequest document = new OpenRequest(request.getId(), request.getRequestor().getId(), request.getCreated(),
+                keys(request.getDescription()));
+        requests.put(document.id(), document);
+        for (String key : document.keys()) {
+            postings.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(document.id());
+        }
+    }
+
+    /**
+     * Удаляет запрос из индекса, например после ответа на него.
+     *
+     * @param requestId ID запроса.
+     */
+    public synchronized void remove(long requestId) {
+        OpenRequest document = requests.remove(requestId);
+        if (document == null) {
+            return;
+        }
+        for (String key : document.keys()) {
+            postings.computeIfPresent(key, (k, ids) -> {
+                ids.remove(requestId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * Подбирает открытый запрос для новой вещи. Из подходящих запросов других пользователей
+     * выбирается самый ранний.
+     *
+     * @param ownerId  ID владельца вещи.
+     * @param itemName название вещи.
+     * @return ID запроса, если подходящий нашёлся.
+     */
+    public Optional<Long> match(long ownerId, String itemName) {
+        Set<String> keys = keys(itemName);
+        if (keys.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Set<Long> candidates = null;
+        for (String key : keys) {
+            Set<Long> ids = postings.get(key);
+            if (ids == null) {
+                return Optional.empty();
+            }
+            if (candidates == null || ids.size() < candidates.size()) {
+                candidates = ids;
+            }
+        }
+
+        return candidates.stream()
+                .map(requests::get)
+                .filter(request -> request != null && request.requestorId() != ownerId && request.keys().containsAll(keys))
+                .min(OLDEST_FIRST)
+                .map(OpenRequest::id);
+    }
+
+    int size() {
+        return requests.size();
+    }
+
+    static Set<String> keys(String text) {
+        Set<String> keys = new HashSet<>();
+        if (text == null) {
+            return keys;
+        }
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT).replace('ё', 'е'))) {
+            if (word.length() >= MIN_WORD_LENGTH) {
+                keys.add(word.length() > STEM_LENGTH ? word.substring(0, STEM_LENGTH) : word);
+            }
+        }
+        return keys;
+    }
+
+    private record OpenRequest(long id, long requestorId, LocalDateTime created, Set<String> keys) {
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.item.request.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Запрос вещи, которой пока нет среди доступных: владельцы вещей отвечают на него, добавляя вещь
+ * со ссылкой на запрос.
+ */
+@Builder
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table (name = "requests")
+@FieldDefaults (level = AccessLevel.PRIVATE)
+public class ItemRequest {
+
+    @Id
+    @GeneratedValue (strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator (name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
+    @Column (name = "request_id")
+    Long id;
+
+    @Column (length = 512, nullable = false)
+    String description;
+
+    @JoinColumn (name = "requestor_id", nullable = false)
+    @ManyToOne (fetch = FetchType.LAZY)
+    User requestor;
+
+    @Column (nullable = false)
+    LocalDateTime created;
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.item.request.pagination;
+
+import ru.practicum.shareit.exception.ItemRequestException;
+import ru.practicum.shareit.item.request.dto.ItemRequestRow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Курсор постраничной выдачи запросов: дата создания и ID последнего запроса на странице.
+ * Запросы выдаются от новых к старым, следующая страница запрашивается поиском по этому ключу,
+ * без OFFSET. Первая страница начинается с курсора {@link #FIRST}.
+ *
+ * @param created дата создания последнего запроса на странице.
+ * @param id      ID последнего запроса на странице.
+ */
+public record ItemRequestCursor(LocalDateTime created, long id) {
+
+    public static final ItemRequestCursor FIRST = new ItemRequestCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), 0);
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Возвращает курсор, указывающий на запрос.
+     *
+     * @param row последний запрос страницы.
+     * @return курсор.
+     */
+    public static ItemRequestCursor after(ItemRequestRow row) {
+        return new ItemRequestCursor(row.created(), row.id());
+    }
+
+    /**
+     * Преобразует курсор в строку.
+     *
+     * @return строка курсора.
+     */
+    public String encode() {
+        String raw = created + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Преобразует строку в курсор.
+     *
+     * @param cursor строка курсора, может быть null для первой страницы.
+     * @return курсор, после которого продолжается выдача.
+     */
+    public static ItemRequestCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(Pattern.quote(SEPARATOR), -1);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new ItemRequestCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ItemRequestException(String.format("Некорректный курсор: %s", cursor));
+        }
+    }
+}
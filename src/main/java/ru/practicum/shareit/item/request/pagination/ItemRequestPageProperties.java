@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.request.pagination;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Настройки постраничной выдачи запросов других пользователей.
+ *
+ * @param defaultSize размер страницы, если клиент его не передал.
+ * @param maxSize     наибольший допустимый размер страницы.
+ */
+@ConfigurationProperties (prefix = "shareit.item.request.page")
+public record ItemRequestPageProperties(@DefaultValue ("20") int defaultSize,
+                                        @DefaultValue ("100") int maxSize) {
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.request.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.request.dto.ItemRequestRow;
+import ru.practicum.shareit.item.request.model.ItemRequest;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+
+    String REQUEST_ROW = " SELECT new ru.practicum.shareit.item.request.dto.ItemRequestRow(r.id, r.description, r.created) " +
+            " FROM ItemRequest r ";
+
+    /**
+     * Условие на запросы после курсора (?2 — дата создания, ?3 — ID) при сортировке {@link #ORDER_BY_CREATED}.
+     */
+    String AFTER_CURSOR = " AND r.created <= ?2 AND (r.created < ?2 OR r.id > ?3) ";
+
+    String ORDER_BY_CREATED = " ORDER BY r.created DESC, r.id ";
+
+    @Query (REQUEST_ROW + " WHERE r.requestor.id = ?1 " + ORDER_BY_CREATED)
+    List<ItemRequestRow> findRowsByRequestorId(long requestorId);
+
+    @Query (REQUEST_ROW + " WHERE r.requestor.id <> ?1 " + AFTER_CURSOR + ORDER_BY_CREATED)
+    List<ItemRequestRow> findOtherRows(long userId, LocalDateTime cursorCreated, long cursorId, Limit limit);
+
+    @Query (REQUEST_ROW + " WHERE r.id = ?1 ")
+    Optional<ItemRequestRow> findRowById(long requestId);
+
+    /**
+     * Возвращает запросы, на которые ещё не ответили ни одной вещью.
+     */
+    @Query (" SELECT r FROM ItemRequest r WHERE NOT EXISTS (SELECT i.id FROM Item i WHERE i.requestId = r.id) ")
+    List<ItemRequest> findOpen();
+
+    @Query (" SELECT r.id FROM ItemRequest r WHERE r.id IN ?1 ")
+    List<Long> findExistingIds(Collection<Long> requestIds);
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.request.repository;
+
+import ru.practicum.shareit.item.request.dto.ItemRequestDto;
+import ru.practicum.shareit.item.request.dto.ItemRequestPageDto;
+
+import java.util.Collection;
+
+public interface ItemRequestService {
+    ItemRequestDto createRequest(long userId, ItemRequestDto dto);
+
+    Collection<ItemRequestDto> getOwnRequests(long userId);
+
+    ItemRequestPageDto getOtherRequests(long userId, String cursor, Integer size);
+
+    ItemRequestDto getRequest(long userId, long requestId);
+}
@@ -0,0 +1,133 @@
+package ru.practicum.shareit.item.request.repository.impl;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.batch.BatchProperties;
+import ru.practicum.shareit.common.streaming.Chunks;
+import ru.practicum.shareit.common.transaction.TransactionCallbacks;
+import ru.practicum.shareit.exception.ItemRequestException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.request.ItemRequestMapper;
+import ru.practicum.shareit.item.request.dto.ItemAnswerDto;
+import ru.practicum.shareit.item.request.dto.ItemRequestDto;
+import ru.practicum.shareit.item.request.dto.ItemRequestPageDto;
+import ru.practicum.shareit.item.request.dto.ItemRequestRow;
+import ru.practicum.shareit.item.request.matching.OpenRequestIndex;
+import ru.practicum.shareit.item.request.model.ItemRequest;
+import ru.practicum.shareit.item.request.pagination.ItemRequestCursor;
+import ru.practicum.shareit.item.request.pagination.ItemRequestPageProperties;
+import ru.practicum.shareit.item.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.item.request.repository.ItemRequestService;
+import ru.practicum.shareit.user.interfaces.UserService;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@Timed (value = "shareit.service", histogram = true)
+@FieldDefaults (level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public class ItemRequestServiceImpl implements ItemRequestService {
+
+    UserService userRepository;
+    ItemRequestRepository itemRequestRepository;
+    ItemRepository itemRepository;
+    OpenRequestIndex openRequestIndex;
+    ItemRequestPageProperties pageProperties;
+    BatchProperties batchProperties;
+
+    @Override
+    @Transactional
+    public ItemRequestDto createRequest(long userId, ItemRequestDto dto) {
+        User requestor = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException(String.format("Пользователь с id = %d не найден", userId)));
+        log.debug("Добавление запроса вещи пользователем с id = {}", userId);
+        ItemRequest saved = itemRequestRepository.save(ItemRequestMapper.toItemRequest(dto, requestor, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS)));
+        TransactionCallbacks.afterCommit(() -> openRequestIndex.add(saved));
+        return ItemRequestMapper.toItemRequestDto(saved, List.of());
+    }
+
+    @Override
+    @Transactional (readOnly = true)
+    public Collection<ItemRequestDto> getOwnRequests(long userId) {
+        requireUser(userId);
+        return withAnswers(itemRequestRepository.findRowsByRequestorId(userId));
+    }
+
+    /**
+     * Получает страницу запросов других пользователей от новых к старым.
+     *
+     * @param userId ID пользователя
+     * @param cursor курсор предыдущей страницы или null для первой страницы
+     * @param size   размер страницы или null для размера по умолчанию
+     * @return страница запросов с ответами и курсор следующей страницы
+     */
+    @Override
+    @Transactional (readOnly = true)
+    public ItemRequestPageDto getOtherRequests(long userId, String cursor, Integer size) {
+        requireUser(userId);
+        int pageSize = size == null ? pageProperties.defaultSize() : size;
+        if (pageSize <= 0) {
+            throw new ItemRequestException(String.format("Размер страницы должен быть положительным, получено: %d", pageSize));
+        }
+        if (pageSize > pageProperties.maxSize()) {
+            throw new ItemRequestException(String.format("Размер страницы не может превышать %d, получено: %d", pageProperties.maxSize(), pageSize));
+        }
+        ItemRequestCursor after = ItemRequestCursor.decode(cursor);
+        List<ItemRequestRow> rows = itemRequestRepository.findOtherRows(userId, after.created(), after.id(), Limit.of(pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ItemRequestRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+        return new ItemRequestPageDto(withAnswers(page), hasNext ? ItemRequestCursor.after(page.getLast()).encode() : null);
+    }
+
+    @Override
+    @Transactional (readOnly = true)
+    public ItemRequestDto getRequest(long userId, long requestId) {
+        requireUser(userId);
+        ItemRequestRow row = itemRequestRepository.findRowById(requestId)
+                .orElseThrow(() -> new NotFoundException(String.format("Запрос с id = %d не найден", requestId)));
+        return withAnswers(List.of(row)).getFirst();
+    }
+
+    private void requireUser(long userId) {
+        if (userRepository.findRowById(userId).isEmpty()) {
+            throw new NotFoundException(String.format("Пользователь с id = %d не найден", userId));
+        }
+    }
+
+    /**
+     * Дополняет запросы ответами, загружая вещи запросов порциями по {@code shareit.batch.chunk-size} ID,
+     * чтобы список IN не превышал ограничение базы на число параметров.
+     *
+     * @param rows строки запросов
+     * @return запросы с ответами в исходном порядке
+     */
+    private List<ItemRequestDto> withAnswers(List<ItemRequestRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<ItemAnswerDto> loaded = new ArrayList<>();
+        Chunks.forEach(rows.stream().map(ItemRequestRow::id), batchProperties.chunkSize(),
+                ids -> loaded.addAll(itemRepository.findAnswersByRequestIdIn(ids)));
+        Map<Long, List<ItemAnswerDto>> answers = loaded.stream()
+                .collect(Collectors.groupingBy(ItemAnswerDto::requestId));
+        return rows.stream()
+                .map(row -> ItemRequestMapper.toItemRequestDto(row, answers.getOrDefault(row.id(), List.of())))
+                .toList();
+    }
+}
@@ -0,0 +1,304 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Неизменяемое сжатое префиксное дерево (radix trie) названий вещей.
+ * <p>
+ * Ребро хранит целую подстроку, поэтому дерево не содержит цепочек узлов с одним потомком. Каждый узел
+ * хранит до {@code topSize} лучших дополнений своего поддерева: выше названия, под которыми доступно больше
+ * вещей, при равенстве — по алфавиту. Ответ на префикс — спуск на длину префикса без обхода поддерева.
+ * <p>
+ * Изменение копирует только путь от корня до изменённого узла и возвращает новое дерево, старое остаётся
+ * неизменным, поэтому читатели работают без блокировок. При удалении пустые листья отрезаются, но узлы,
+ * оставшиеся с одним потомком, не склеиваются — компактную форму восстанавливает перестроение.
+ */
+final class ItemNameTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Completion[] NO_COMPLETIONS = new Completion[0];
+
+    private static final Comparator<Completion> RANK = Comparator.comparingInt(Completion::count).reversed()
+            .thenComparing(Completion::key);
+
+    private final int topSize;
+    private final Node root;
+
+    /**
+     * Создаёт пустое дерево.
+     *
+     * @param topSize сколько лучших дополнений хранить в каждом узле.
+     */
+    ItemNameTrie(int topSize) {
+        this.topSize = topSize;
+        this.root = new Node("", NO_KEYS, NO_CHILDREN, null, NO_COMPLETIONS);
+    }
+
+    private ItemNameTrie(int topSize, Node root) {
+        this.topSize = topSize;
+        this.root = root;
+    }
+
+    /**
+     * Строит компактное дерево по названиям за один проход по отсортированным ключам, без копирования путей.
+     *
+     * @param topSize сколько лучших дополнений хранить в каждом узле.
+     * @param names   названия, повторы учитываются.
+     * @return дерево.
+     */
+    static ItemNameTrie of(int topSize, Iterable<String> names) {
+        Map<String, Completion> completions = new TreeMap<>();
+        for (String name : names) {
+            String key = key(name);
+            if (! key.isEmpty()) {
+                completions.merge(key, new Completion(key, name, 1), (current, added) -> current.withCount(current.count() + 1));
+            }
+        }
+        ItemNameTrie trie = new ItemNameTrie(topSize);
+        Completion[] sorted = completions.values().toArray(NO_COMPLETIONS);
+        return sorted.length == 0 ? trie : new ItemNameTrie(topSize, trie.build(sorted, 0, sorted.length, 0, ""));
+    }
+
+    /**
+     * Добавляет ещё одну вещь с названием.
+     *
+     * @param name название.
+     * @return новое дерево.
+     */
+    ItemNameTrie add(String name) {
+        String key = key(name);
+        return update(key, current -> current == null ? new Completion(key, name, 1) : current.withCount(current.count() + 1));
+    }
+
+    /**
+     * Убирает одну вещь с названием.
+     *
+     * @param name название.
+     * @return новое дерево.
+     */
+    ItemNameTrie remove(String name) {
+        return update(key(name), current -> current == null || current.count() <= 1 ? null : current.withCount(current.count() - 1));
+    }
+
+    /**
+     * Возвращает лучшие названия, начинающиеся с префикса, без учёта регистра.
+     *
+     * @param prefix префикс.
+     * @param limit  сколько названий вернуть, не больше {@code topSize}.
+     * @return названия в порядке убывания числа вещей.
+     */
+    List<String> complete(String prefix, int limit) {
+        String key = key(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Node node = root;
+        int offset = 0;
+        while (offset < key.length()) {
+            int index = Arrays.binarySearch(node.keys, key.charAt(offset));
+            if (index < 0) {
+                return Collections.emptyList();
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, offset);
+            if (offset + common < key.length() && common < child.label.length()) {
+                return Collections.emptyList();
+            }
+            offset += common;
+            node = child;
+        }
+        return Arrays.stream(node.top)
+                .limit(limit)
+                .map(Completion::name)
+                .toList();
+    }
+
+    /**
+     * Возвращает число узлов дерева.
+     *
+     * @return число узлов, включая корень.
+     */
+    int nodeCount() {
+        return count(root);
+    }
+
+    static String key(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    private ItemNameTrie update(String key, UnaryOperator<Completion> change) {
+        if (key.isEmpty()) {
+            return this;
+        }
+        Node updated = update(root, key, 0, change);
+        return updated == root ? this : new ItemNameTrie(topSize, updated);
+    }
+
+    /**
+     * Изменяет дополнение для ключа в поддереве узла, путь к которому совпадает с {@code key[0, offset)}.
+     *
+     * @return новый узел или тот же, если ничего не изменилось.
+     */
+    private Node update(Node node, String key, int offset, UnaryOperator<Completion> change) {
+        if (offset == key.length()) {
+            Completion terminal = change.apply(node.terminal);
+            return terminal == node.terminal ? node : node(node.label, node.keys, node.children, terminal);
+        }
+
+        int index = Arrays.binarySearch(node.keys, key.charAt(offset));
+        if (index < 0) {
+            Completion terminal = change.apply(null);
+            if (terminal == null) {
+                return node;
+            }
+            Node leaf = node(key.substring(offset), NO_KEYS, NO_CHILDREN, terminal);
+            return withChild(node, -index - 1, leaf, true);
+        }
+
+        Node child = node.children[index];
+        int common = commonPrefix(child.label, key, offset);
+        Node target = child;
+        if (common < child.label.length()) {
+            Node tail = new Node(child.label.substring(common), child.keys, child.children, child.terminal, child.top);
+            target = new Node(child.label.substring(0, common), new char[] {tail.label.charAt(0)}, new Node[] {tail}, null, child.top);
+        }
+        Node updated = update(target, key, offset + common, change);
+        if (updated == target) {
+            return node;
+        }
+        if (updated.terminal == null && updated.children.length == 0) {
+            return withoutChild(node, index);
+        }
+        return withChild(node, index, updated, false);
+    }
+
+    /**
+     * Строит узел по отсортированным дополнениям {@code sorted[from, to)}, ключи которых совпадают
+     * в первых {@code depth} символах.
+     */
+    private Node build(Completion[] sorted, int from, int to, int depth, String label) {
+        Completion terminal = null;
+        if (sorted[from].key().length() == depth) {
+            terminal = sorted[from++];
+        }
+        List<Node> children = new ArrayList<>();
+        int i = from;
+        while (i < to) {
+            char first = sorted[i].key().charAt(depth);
+            int j = i + 1;
+            while (j < to && sorted[j].key().charAt(depth) == first) {
+                j++;
+            }
+            String low = sorted[i].key();
+            String high = sorted[j - 1].key();
+            int end = depth + 1;
+            while (end < low.length() && end < high.length() && low.charAt(end) == high.charAt(end)) {
+                end++;
+            }
+            children.add(build(sorted, i, j, end, sorted[i].key().substring(depth, end)));
+            i = j;
+        }
+        char[] keys = new char[children.size()];
+        for (int k = 0; k < keys.length; k++) {
+            keys[k] = children.get(k).label.charAt(0);
+        }
+        return node(label, keys, children.toArray(NO_CHILDREN), terminal);
+    }
+
+    private Node withChild(Node node, int index, Node child, boolean insert) {
+        char[] keys;
+        Node[] children;
+        if (insert) {
+            keys = new char[node.keys.length + 1];
+            children = new Node[node.children.length + 1];
+            System.arraycopy(node.keys, 0, keys, 0, index);
+            System.arraycopy(node.keys, index, keys, index + 1, node.keys.length - index);
+            System.arraycopy(node.children, 0, children, 0, index);
+            System.arraycopy(node.children, index, children, index + 1, node.children.length - index);
+        } else {
+            keys = node.keys;
+            children = node.children.clone();
+        }
+        keys[index] = child.label.charAt(0);
+        children[index] = child;
+        return node(node.label, keys, children, node.terminal);
+    }
+
+    private Node withoutChild(Node node, int index) {
+        char[] keys = new char[node.keys.length - 1];
+        Node[] children = new Node[node.children.length - 1];
+        System.arraycopy(node.keys, 0, keys, 0, index);
+        System.arraycopy(node.keys, index + 1, keys, index, keys.length - index);
+        System.arraycopy(node.children, 0, children, 0, index);
+        System.arraycopy(node.children, index + 1, children, index, children.length - index);
+        return node(node.label, keys, children, node.terminal);
+    }
+
+    /**
+     * Создаёт узел, вычисляя его лучшие дополнения по собственному дополнению и лучшим дополнениям потомков.
+     */
+    private Node node(String label, char[] keys, Node[] children, Completion terminal) {
+        List<Completion> candidates = new ArrayList<>();
+        if (terminal != null) {
+            candidates.add(terminal);
+        }
+        for (Node child : children) {
+            Collections.addAll(candidates, child.top);
+        }
+        candidates.sort(RANK);
+        Completion[] top = candidates.subList(0, Math.min(topSize, candidates.size())).toArray(NO_COMPLETIONS);
+        return new Node(label, keys, children, terminal, top);
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int count(Node node) {
+        int count = 1;
+        for (Node child : node.children) {
+            count += count(child);
+        }
+        return count;
+    }
+
+    /**
+     * Узел дерева.
+     *
+     * @param label    подстрока ребра от родителя к узлу.
+     * @param keys     первые символы рёбер потомков по возрастанию.
+     * @param children потомки в порядке {@code keys}.
+     * @param terminal дополнение, заканчивающееся в узле, или null.
+     * @param top      лучшие дополнения поддерева.
+     */
+    private record Node(String label, char[] keys, Node[] children, Completion terminal, Completion[] top) {
+    }
+
+    /**
+     * Название и число доступных вещей с ним.
+     *
+     * @param key   название в нижнем регистре.
+     * @param name  название в том виде, в котором оно было добавлено первым.
+     * @param count число вещей.
+     */
+    private record Completion(String key, String name, int count) {
+
+        Completion withCount(int count) {
+            return new Completion(key, name, count);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Инвертированный n-граммный индекс по названиям и описаниям доступных вещей.
+ * <p>
+ * Для каждой доступной вещи в индекс попадают все подстроки длиной от 1 до {@link #MAX_GRAM} символов
+ * из названия и описания, приведённых к нижнему регистру. Запрос длиной не более {@link #MAX_GRAM}
+ * символов отвечается одним обращением к индексу, более длинный — по самому короткому списку
+ * триграмм с последующей проверкой вхождения подстроки. Результат совпадает с
+ * {@code name ILIKE %text% OR description ILIKE %text%} по доступным вещам.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+
+    static final int MAX_GRAM = 3;
+
+    private final ItemRepository itemRepository;
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, IndexedItem> documents = new ConcurrentHashMap<>();
+
+    /**
+     * Перестраивает индекс по всем доступным вещам из репозитория при старте приложения.
+     */
+    @EventListener (ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        postings.clear();
+        documents.clear();
+        List<Item> items = itemRepository.findByAvailableTrue();
+        items.forEach(this::index);
+        log.info("Поисковый индекс вещей построен: {} вещей, {} n-грамм", documents.size(), postings.size());
+    }
+
+    /**
+     * Добавляет вещь в индекс или обновляет её. Недоступные вещи из индекса удаляются.
+     *
+     * @param item вещь.
+     */
+    public synchronized void index(Item item) {
+        remove(item.getId());
+        if (! Boolean.TRUE.equals(item.getAvailable())) {
+            return;
+        }
+        IndexedItem document = new IndexedItem(fold(item.getName()), fold(item.getDescription()));
+        documents.put(item.getId(), document);
+        for (String gram : document.grams()) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(item.getId());
+        }
+    }
+
+    /**
+     * Удаляет вещь из индекса.
+     *
+     * @param itemId ID вещи.
+     */
+    public synchronized void remove(long itemId) {
+        IndexedItem document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+        for (String gram : document.grams()) {
+            postings.computeIfPresent(gram, (key, ids) -> {
+                ids.remove(itemId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * Ищет доступные вещи, в названии или описании которых встречается текст без учёта регистра.
+     *
+     * @param text текст для поиска.
+     * @return ID найденных вещей по возрастанию.
+     */
+    public List<Long> search(String text) {
+        String query = fold(text);
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<Long> candidates = null;
+        for (String gram : queryGrams(query)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Collections.emptyList();
+            }
+            if (candidates == null || ids.size() < candidates.size()) {
+                candidates = ids;
+            }
+        }
+
+        return candidates.stream()
+                .filter(id -> {
+                    IndexedItem document = documents.get(id);
+                    return document != null && document.matches(query);
+                })
+                .sorted()
+                .toList();
+    }
+
+    private static Set<String> queryGrams(String query) {
+        if (query.length() <= MAX_GRAM) {
+            return Set.of(query);
+        }
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + MAX_GRAM <= query.length(); i++) {
+            grams.add(query.substring(i, i + MAX_GRAM));
+        }
+        return grams;
+    }
+
+    private static String fold(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private record IndexedItem(String name, String description) {
+
+        boolean matches(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            addGrams(name, grams);
+            addGrams(description, grams);
+            return grams;
+        }
+
+        private static void addGrams(String value, Set<String> grams) {
+            for (int i = 0; i < value.length(); i++) {
+                for (int n = 1; n <= MAX_GRAM && i + n <= value.length(); n++) {
+                    grams.add(value.substring(i, i + n));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Подсказки названий доступных вещей по префиксу.
+ * <p>
+ * Названия хранятся в {@link ItemNameTrie}. Добавление и изменение вещей обновляют дерево инкрементально,
+ * подменяя его новой версией, а запросы подсказок читают текущую версию без блокировок. Удаления оставляют
+ * в дереве несклеенные узлы, поэтому дерево периодически перестраивается по текущим названиям. Перестроение
+ * идёт без блокировки изменений: изменения, сделанные за это время, повторяются на новом дереве перед подменой.
+ */
+@Slf4j
+@Component
+public class ItemSuggestIndex {
+
+    private final ItemRepository itemRepository;
+    private final ItemSuggestProperties properties;
+
+    private final Map<Long, String> names = new HashMap<>();
+    private volatile ItemNameTrie trie;
+    private List<UnaryOperator<ItemNameTrie>> changesDuringRebuild;
+
+    public ItemSuggestIndex(ItemRepository itemRepository, ItemSuggestProperties properties) {
+        this.itemRepository = itemRepository;
+        this.properties = properties;
+        this.trie = new ItemNameTrie(properties.maxResults());
+    }
+
+    /**
+     * Строит дерево по всем доступным вещам из репозитория при старте приложения.
+     */
+    @EventListener (ApplicationReadyEvent.class)
+    public synchronized void load() {
+        names.clear();
+        for (Item item : itemRepository.findByAvailableTrue()) {
+            String name = suggestedName(item);
+            if (name != null) {
+                names.put(item.getId(), name);
+            }
+        }
+        rebuild();
+    }
+
+    /**
+     * Добавляет вещь в подсказки или обновляет её название. Недоступные вещи из подсказок удаляются.
+     *
+     * @param item вещь.
+     */
+    public synchronized void index(Item item) {
+        String previous = names.remove(item.getId());
+        String name = suggestedName(item);
+        if (name != null) {
+            names.put(item.getId(), name);
+        }
+        apply(current -> {
+            ItemNameTrie updated = previous == null ? current : current.remove(previous);
+            return name == null ? updated : updated.add(name);
+        });
+    }
+
+    /**
+     * Удаляет вещь из подсказок.
+     *
+     * @param itemId ID вещи.
+     */
+    public synchronized void remove(long itemId) {
+        String previous = names.remove(itemId);
+        if (previous != null) {
+            apply(current -> current.remove(previous));
+        }
+    }
+
+    /**
+     * Перестраивает дерево по текущим названиям, освобождая узлы, оставшиеся от удалённых названий.
+     */
+    @Scheduled (fixedDelayString = "${shareit.item.suggest.rebuild-interval:PT10M}",
+            initialDelayString = "${shareit.item.suggest.rebuild-interval:PT10M}")
+    public void rebuild() {
+        List<String> snapshot;
+        synchronized (this) {
+            if (changesDuringRebuild != null) {
+                return;
+            }
+            snapshot = List.copyOf(names.values());
+            changesDuringRebuild = new ArrayList<>();
+        }
+        ItemNameTrie rebuilt = ItemNameTrie.of(properties.maxResults(), snapshot);
+        synchronized (this) {
+            for (UnaryOperator<ItemNameTrie> change : changesDuringRebuild) {
+                rebuilt = change.apply(rebuilt);
+            }
+            int before = trie.nodeCount();
+            trie = rebuilt;
+            changesDuringRebuild = null;
+            log.debug("Дерево подсказок названий перестроено: {} названий, узлов {} -> {}", names.size(), before, rebuilt.nodeCount());
+        }
+    }
+
+    /**
+     * Возвращает названия доступных вещей, начинающиеся с префикса без учёта регистра.
+     *
+     * @param prefix префикс.
+     * @param limit  сколько подсказок вернуть или null для наибольшего числа.
+     * @return названия, под которыми доступно больше вещей, первыми.
+     */
+    public List<String> suggest(String prefix, Integer limit) {
+        int size = limit == null ? properties.maxResults() : Math.min(limit, properties.maxResults());
+        return trie.complete(prefix, size);
+    }
+
+    private static String suggestedName(Item item) {
+        boolean suggested = Boolean.TRUE.equals(item.getAvailable()) && item.getName() != null && ! item.getName().isBlank();
+        return suggested ? item.getName() : null;
+    }
+
+    private void apply(UnaryOperator<ItemNameTrie> change) {
+        trie = change.apply(trie);
+        if (changesDuringRebuild != null) {
+            changesDuringRebuild.add(change);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Настройки подсказок названий вещей.
+ *
+ * @param maxResults наибольшее число подсказок в ответе; столько лучших дополнений хранит каждый узел дерева.
+ */
+@ConfigurationProperties (prefix = "shareit.item.suggest")
+public record ItemSuggestProperties(@DefaultValue ("10") int maxResults) {
+}
@@ -4,6 +4,8 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -13,11 +15,15 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.common.batch.BatchResultDto;
+import ru.practicum.shareit.common.streaming.NdjsonResponseWriter;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 import ru.practicum.shareit.user.interfaces.UserService;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Контроллер для управления пользователями.
@@ -30,6 +36,7 @@ import java.util.Collection;
 public class UserController {
 
     private final UserService userService;
+    private final NdjsonResponseWriter ndjsonResponseWriter;
 
     /**
      * Получение списка всех пользователей.
@@ -42,6 +49,17 @@ public class UserController {
         return userService.getAllUsers();
     }
 
+    /**
+     * Потоковая выдача всех пользователей в формате NDJSON ({@code Accept: application/x-ndjson}).
+     *
+     * @return ответ, в тело которого построчно пишутся объекты UserDto.
+     */
+    @GetMapping (produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        log.info("Запрос на потоковую выдачу всех пользователей");
+        return ndjsonResponseWriter.write(userService::streamAllUsers);
+    }
+
     /**
      * Создание нового пользователя.
      *
@@ -55,6 +73,18 @@ public class UserController {
         return userService.createUser(dto);
     }
 
+    /**
+     * Пакетное создание пользователей.
+     *
+     * @param dtos список объектов UserDto с данными новых пользователей.
+     * @return созданные пользователи и ошибки по отклонённым элементам.
+     */
+    @PostMapping("/batch")
+    public BatchResultDto<UserDto> createUsers(@RequestBody List<UserDto> dtos) {
+        log.info("Запрос на пакетное добавление пользователей: {}", dtos == null ? 0 : dtos.size());
+        return userService.createUsers(dtos);
+    }
+
     /**
      * Обновление данных пользователя.
      *
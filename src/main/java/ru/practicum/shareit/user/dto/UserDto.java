@@ -1,10 +1,13 @@
 package ru.practicum.shareit.user.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Builder;
 import lombok.Data;
+import ru.practicum.shareit.common.json.SparseFieldsFilter;
 
+@JsonFilter (SparseFieldsFilter.NAME)
 @Builder
 @Data
 public class UserDto {
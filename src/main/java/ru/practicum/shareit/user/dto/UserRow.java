@@ -0,0 +1,8 @@
+package ru.practicum.shareit.user.dto;
+
+/**
+ * Неизменяемая строка пользователя: только столбцы, без связи с контекстом персистентности.
+ * В таком виде пользователи хранятся в кэше.
+ */
+public record UserRow(Long id, String name, String email) {
+}
@@ -1,7 +1,22 @@
 package ru.practicum.shareit.user.interfaces;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.user.dto.UserRow;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    Stream<User> streamAllBy();
+
+    @Query (" SELECT new ru.practicum.shareit.user.dto.UserRow(u.id, u.name, u.email) FROM User u WHERE u.id = ?1 ")
+    Optional<UserRow> findRowById(long userId);
+
+    @Query (" SELECT u.email FROM User u WHERE u.email IN ?1 ")
+    Set<String> findEmailsIn(Collection<String> emails);
 }
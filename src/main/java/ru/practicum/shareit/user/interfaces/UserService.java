@@ -1,17 +1,25 @@
 package ru.practicum.shareit.user.interfaces;
 
+import ru.practicum.shareit.common.batch.BatchResultDto;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserRow;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface UserService {
     Collection<UserDto> getAllUsers();
 
+    void streamAllUsers(Consumer<UserDto> consumer);
+
     UserDto createUser(UserDto dto);
 
+    BatchResultDto<UserDto> createUsers(List<UserDto> dtos);
+
     UserDto updateUser(Long id, UserUpdateDto dto);
 
     UserDto getUserById(Long id);
@@ -20,5 +28,7 @@ public interface UserService {
 
     Optional<User> findById(Long userId);
 
-    boolean existsById(long bookerId);
+    Optional<UserRow> findRowById(Long userId);
+
+    User getReference(Long userId);
 }
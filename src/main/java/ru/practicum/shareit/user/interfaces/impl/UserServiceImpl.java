@@ -1,28 +1,50 @@
 package ru.practicum.shareit.user.interfaces.impl;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.batch.BatchExecutor;
+import ru.practicum.shareit.common.batch.BatchResultDto;
+import ru.practicum.shareit.common.batch.BatchRow;
+import ru.practicum.shareit.common.streaming.Chunks;
+import ru.practicum.shareit.common.streaming.StreamingProperties;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserRow;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 import ru.practicum.shareit.user.interfaces.UserRepository;
 import ru.practicum.shareit.user.interfaces.UserService;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Реализация сервиса управления пользователями.
  */
 @Slf4j
 @Service
+@Timed (value = "shareit.service", histogram = true)
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final StreamingProperties streamingProperties;
+    private final BatchExecutor batchExecutor;
 
     /**
      * Получение списка всех пользователей.
@@ -30,6 +52,7 @@ public class UserServiceImpl implements UserService {
      * @return коллекция пользователей в виде DTO.
      */
     @Override
+    @Transactional (readOnly = true)
     public Collection<UserDto> getAllUsers() {
         log.debug("Получение списка всех пользователей");
         return userRepository.findAll().stream()
@@ -37,6 +60,24 @@ public class UserServiceImpl implements UserService {
                 .toList();
     }
 
+    /**
+     * Потоковая выдача всех пользователей: строки читаются курсором и передаются
+     * обработчику по мере преобразования, контекст персистентности очищается порциями.
+     *
+     * @param consumer обработчик пользователей в виде DTO.
+     */
+    @Override
+    @Transactional (readOnly = true)
+    public void streamAllUsers(Consumer<UserDto> consumer) {
+        log.debug("Потоковая выдача всех пользователей");
+        try (Stream<User> users = userRepository.streamAllBy()) {
+            Chunks.forEach(users, streamingProperties.chunkSize(), chunk -> {
+                chunk.forEach(user -> consumer.accept(UserMapper.toUserDto(user)));
+                entityManager.clear();
+            });
+        }
+    }
+
     /**
      * Создание нового пользователя.
      *
@@ -44,12 +85,42 @@ public class UserServiceImpl implements UserService {
      * @return созданный пользователь в виде DTO.
      */
     @Override
+    @Transactional
     public UserDto createUser(UserDto dto) {
         log.debug("Добавление нового пользователя с именем: {}", dto.getName());
         User user = UserMapper.toUser(dto);
         return UserMapper.toUserDto(userRepository.save(user));
     }
 
+    /**
+     * Пакетное создание пользователей. Элементы с ошибками валидации и с уже занятым email
+     * отклоняются, остальные сохраняются пакетными вставками.
+     *
+     * @param dtos DTO пользователей.
+     * @return созданные пользователи и ошибки по отклонённым элементам.
+     */
+    @Override
+    public BatchResultDto<UserDto> createUsers(List<UserDto> dtos) {
+        log.debug("Пакетное добавление пользователей: {}", dtos == null ? 0 : dtos.size());
+        Set<String> takenEmails = new HashSet<>();
+        return batchExecutor.execute(dtos, (chunk, reject) -> {
+            takenEmails.addAll(userRepository.findEmailsIn(chunk.stream().map(row -> row.value().getEmail()).toList()));
+            List<User> users = new ArrayList<>(chunk.size());
+            for (BatchRow<UserDto> row : chunk) {
+                if (! takenEmails.add(row.value().getEmail())) {
+                    reject.accept(row, String.format("Пользователь с email = %s уже существует", row.value().getEmail()));
+                    continue;
+                }
+                User user = UserMapper.toUser(row.value());
+                user.setId(null);
+                users.add(user);
+            }
+            return userRepository.saveAll(users).stream()
+                    .map(UserMapper::toUserDto)
+                    .toList();
+        });
+    }
+
     /**
      * Обновление данных пользователя.
      *
@@ -58,6 +129,8 @@ public class UserServiceImpl implements UserService {
      * @return обновленный пользователь в виде DTO.
      */
     @Override
+    @Transactional
+    @CacheEvict (cacheNames = CacheConfig.USERS, key = "#userId")
     public UserDto updateUser(Long userId, UserUpdateDto dto) {
         validateId(userId);
         User updateUser = UserMapper.toUserFromUpdateDto(dto);
@@ -83,6 +156,7 @@ public class UserServiceImpl implements UserService {
      * @return пользователь в виде DTO.
      */
     @Override
+    @Transactional (readOnly = true)
     public UserDto getUserById(Long id) {
         log.debug("Получение пользователя с ID = {}", id);
         return UserMapper.toUserDto(userRepository.findById(id).orElseThrow(
@@ -95,20 +169,48 @@ public class UserServiceImpl implements UserService {
      * @param id ID пользователя.
      */
     @Override
+    @Transactional
+    @CacheEvict (cacheNames = CacheConfig.USERS, key = "#id")
     public void deleteUser(Long id) {
         validateId(id);
         log.debug("Удаление пользователя с ID = {}", id);
         userRepository.deleteById(id);
     }
 
+    /**
+     * Поиск пользователя по ID.
+     *
+     * @param userId ID пользователя.
+     * @return пользователь, если найден.
+     */
     @Override
+    @Transactional (readOnly = true)
     public Optional<User> findById(Long userId) {
         return userRepository.findById(userId);
     }
 
+    /**
+     * Поиск строки пользователя по ID. Найденные строки кэшируются.
+     *
+     * @param userId ID пользователя.
+     * @return строка пользователя, если найден.
+     */
+    @Override
+    @Transactional (readOnly = true)
+    @Cacheable (cacheNames = CacheConfig.USERS, unless = "#result == null")
+    public Optional<UserRow> findRowById(Long userId) {
+        return userRepository.findRowById(userId);
+    }
+
+    /**
+     * Ссылка на пользователя для связей сохраняемых сущностей, без чтения из базы.
+     *
+     * @param userId ID существующего пользователя.
+     * @return ссылка на пользователя.
+     */
     @Override
-    public boolean existsById(long bookerId) {
-        return userRepository.existsById(bookerId);
+    public User getReference(Long userId) {
+        return userRepository.getReferenceById(userId);
     }
 
     /**
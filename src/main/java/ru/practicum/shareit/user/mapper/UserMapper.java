@@ -48,6 +48,24 @@ public class UserMapper {
                 .build();
     }
 
+    /**
+     * Создаёт копию сущности User, не связанную с контекстом персистентности.
+     *
+     * @param user объект User, в том числе прокси Hibernate.
+     * @return копия сущности User.
+     */
+    public static User copyOf(User user) {
+        if (user == null) {
+            throw new IllegalArgumentException("User не может быть null");
+        }
+
+        return User.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .build();
+    }
+
     /**
      * Преобразует объект UserUpdateDto в сущность User.
      *
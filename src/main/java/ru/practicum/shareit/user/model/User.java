@@ -1,10 +1,12 @@
 package ru.practicum.shareit.user.model;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,7 +14,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import ru.practicum.shareit.common.json.SparseFieldsFilter;
 
+@JsonFilter (SparseFieldsFilter.NAME)
 @Builder (toBuilder = true)
 @Getter
 @Setter
@@ -24,7 +28,8 @@ import lombok.ToString;
 public class User {
 
     @Id
-    @GeneratedValue (strategy = GenerationType.IDENTITY)
+    @GeneratedValue (strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator (name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     @Column (name = "user_id")
     private Long id;
 
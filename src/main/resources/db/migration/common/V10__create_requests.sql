@@ -0,0 +1,24 @@
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS requests
+(
+    request_id   BIGINT       NOT NULL,
+    description  VARCHAR(512) NOT NULL,
+    requestor_id BIGINT       NOT NULL,
+    created      TIMESTAMP    NOT NULL,
+    CONSTRAINT pk_requests PRIMARY KEY (request_id),
+    CONSTRAINT fk_requests_requestor FOREIGN KEY (requestor_id) REFERENCES users (user_id)
+);
+
+-- Вещь, добавленная в ответ на запрос, ссылается на него.
+ALTER TABLE items ADD COLUMN IF NOT EXISTS request_id BIGINT;
+ALTER TABLE items ADD CONSTRAINT fk_items_request FOREIGN KEY (request_id) REFERENCES requests (request_id);
+
+-- Свои запросы пользователя.
+CREATE INDEX IF NOT EXISTS idx_requests_requestor_created ON requests (requestor_id, created DESC, request_id);
+
+-- Постраничная выдача чужих запросов по (created, request_id).
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created DESC, request_id);
+
+-- Ответы на запросы одной страницы.
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
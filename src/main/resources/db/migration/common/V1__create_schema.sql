@@ -0,0 +1,49 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users
+(
+    user_id BIGINT       NOT NULL,
+    name    VARCHAR(255),
+    email   VARCHAR(512) NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (user_id),
+    CONSTRAINT uq_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS items
+(
+    item_id     BIGINT NOT NULL,
+    name        VARCHAR(255),
+    description VARCHAR(250),
+    available   BOOLEAN,
+    user_id     BIGINT,
+    CONSTRAINT pk_items PRIMARY KEY (item_id),
+    CONSTRAINT fk_items_owner FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS bookings
+(
+    booking_id BIGINT      NOT NULL,
+    start_date TIMESTAMP   NOT NULL,
+    end_date   TIMESTAMP   NOT NULL,
+    item_id    BIGINT      NOT NULL,
+    user_id    BIGINT      NOT NULL,
+    status     VARCHAR(20) NOT NULL,
+    version    BIGINT      NOT NULL DEFAULT 0,
+    CONSTRAINT pk_bookings PRIMARY KEY (booking_id),
+    CONSTRAINT fk_bookings_item FOREIGN KEY (item_id) REFERENCES items (item_id),
+    CONSTRAINT fk_bookings_booker FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS comments
+(
+    comment_id  BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    text        VARCHAR(512),
+    item_id     BIGINT NOT NULL,
+    user_id     BIGINT NOT NULL,
+    create_date TIMESTAMP,
+    CONSTRAINT pk_comments PRIMARY KEY (comment_id),
+    CONSTRAINT fk_comments_item FOREIGN KEY (item_id) REFERENCES items (item_id),
+    CONSTRAINT fk_comments_author FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
@@ -0,0 +1,23 @@
+-- Вещи владельца и бронирования его вещей (соединение bookings.item_id = items.item_id).
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (user_id);
+
+-- Комментарии к вещам.
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
+
+-- Бронирования пользователя: ALL, FUTURE, CURRENT и постраничная выдача по (start_date, booking_id).
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (user_id, start_date DESC, booking_id);
+
+-- Бронирования пользователя: PAST.
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_end ON bookings (user_id, end_date);
+
+-- Бронирования пользователя конкретной вещи (право оставить комментарий).
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_item ON bookings (user_id, item_id);
+
+-- Бронирования вещей владельца: ALL, FUTURE, CURRENT и постраничная выдача.
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC, booking_id);
+
+-- Бронирования вещей владельца: PAST.
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, end_date);
+
+-- Актуальные бронирования для построения индекса занятости при старте.
+CREATE INDEX IF NOT EXISTS idx_bookings_status_end ON bookings (status, end_date);
@@ -0,0 +1,3 @@
+-- Владелец вещи копируется в бронирование, чтобы запросы владельца обходились без соединения с items.
+-- Столбец добавляется пустым, существующие строки заполняет V5 порциями.
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS owner_id BIGINT;
@@ -0,0 +1,8 @@
+-- Бронирования вещей владельца: ALL, FUTURE, CURRENT и постраничная выдача по (start_date, booking_id).
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_start ON bookings (owner_id, start_date DESC, booking_id);
+
+-- Бронирования вещей владельца: PAST.
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_end ON bookings (owner_id, end_date);
+
+-- Запросы владельца больше не соединяют bookings с items.
+DROP INDEX IF EXISTS idx_bookings_item_end;
@@ -0,0 +1,21 @@
+-- Холодный архив бронирований, закончившихся раньше горизонта хранения (shareit.booking.archive.horizon).
+CREATE TABLE IF NOT EXISTS bookings_archive
+(
+    booking_id BIGINT      NOT NULL,
+    start_date TIMESTAMP   NOT NULL,
+    end_date   TIMESTAMP   NOT NULL,
+    item_id    BIGINT      NOT NULL,
+    user_id    BIGINT      NOT NULL,
+    owner_id   BIGINT      NOT NULL,
+    status     VARCHAR(20) NOT NULL,
+    CONSTRAINT pk_bookings_archive PRIMARY KEY (booking_id),
+    CONSTRAINT fk_bookings_archive_item FOREIGN KEY (item_id) REFERENCES items (item_id),
+    CONSTRAINT fk_bookings_archive_booker FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
+
+-- Старые страницы ALL и PAST пользователя и владельца.
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_booker_start ON bookings_archive (user_id, start_date DESC, booking_id);
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_owner_start ON bookings_archive (owner_id, start_date DESC, booking_id);
+
+-- Право оставить комментарий по давнему бронированию.
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_booker_item ON bookings_archive (user_id, item_id);
@@ -0,0 +1,3 @@
+-- H2 не поддерживает частичные индексы, поэтому статус включается в составной индекс.
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status ON bookings (user_id, status, start_date DESC, booking_id);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status ON bookings (item_id, status, start_date DESC, booking_id);
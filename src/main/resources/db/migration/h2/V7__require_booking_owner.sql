@@ -0,0 +1,4 @@
+ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_status ON bookings (owner_id, status, start_date DESC, booking_id);
+DROP INDEX IF EXISTS idx_bookings_item_status;
@@ -0,0 +1,8 @@
+-- Бронирования, ожидающие решения: WAITING у пользователя и у владельца вещей.
+-- Частичные индексы содержат только строки в статусе WAITING и остаются маленькими.
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_waiting ON bookings (user_id, start_date DESC, booking_id) WHERE status = 'WAITING';
+CREATE INDEX IF NOT EXISTS idx_bookings_item_waiting ON bookings (item_id, start_date DESC, booking_id) WHERE status = 'WAITING';
+
+-- Отклонённые бронирования: REJECTED у пользователя и у владельца вещей.
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_rejected ON bookings (user_id, start_date DESC, booking_id) WHERE status = 'REJECTED';
+CREATE INDEX IF NOT EXISTS idx_bookings_item_rejected ON bookings (item_id, start_date DESC, booking_id) WHERE status = 'REJECTED';
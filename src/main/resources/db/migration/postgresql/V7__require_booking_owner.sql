@@ -0,0 +1,24 @@
+-- NOT VALID не перепроверяет уже заполненные строки и не держит блокировку на время чтения таблицы,
+-- но запрещает пустой owner_id для всех новых и изменяемых строк.
+ALTER TABLE bookings ADD CONSTRAINT chk_bookings_owner_not_null CHECK (owner_id IS NOT NULL) NOT VALID;
+
+-- При смене владельца вещи владелец переносится во все её бронирования.
+CREATE OR REPLACE FUNCTION sync_booking_owner() RETURNS TRIGGER AS
+$$
+BEGIN
+    UPDATE bookings SET owner_id = NEW.user_id WHERE item_id = NEW.item_id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_items_owner_changed
+    AFTER UPDATE OF user_id ON items
+    FOR EACH ROW
+    WHEN (OLD.user_id IS DISTINCT FROM NEW.user_id)
+EXECUTE FUNCTION sync_booking_owner();
+
+-- Бронирования вещей владельца в статусах WAITING и REJECTED.
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_waiting ON bookings (owner_id, start_date DESC, booking_id) WHERE status = 'WAITING';
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_rejected ON bookings (owner_id, start_date DESC, booking_id) WHERE status = 'REJECTED';
+DROP INDEX IF EXISTS idx_bookings_item_waiting;
+DROP INDEX IF EXISTS idx_bookings_item_rejected;
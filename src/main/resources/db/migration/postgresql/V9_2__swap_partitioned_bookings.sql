@@ -0,0 +1,33 @@
+-- Все строки уже перенесены V9.1, а новые изменения повторяет триггер, поэтому под блокировкой
+-- старая таблица только удаляется, а новая занимает её имя.
+LOCK TABLE bookings IN ACCESS EXCLUSIVE MODE;
+
+DROP TABLE bookings;
+DROP FUNCTION mirror_booking_to_partitioned();
+
+ALTER TABLE bookings_partitioned RENAME TO bookings;
+ALTER TABLE bookings RENAME CONSTRAINT pk_bookings_partitioned TO pk_bookings;
+ALTER TABLE bookings RENAME CONSTRAINT fk_bookings_partitioned_item TO fk_bookings_item;
+ALTER TABLE bookings RENAME CONSTRAINT fk_bookings_partitioned_booker TO fk_bookings_booker;
+
+ALTER INDEX idx_bookings_partitioned_booker_start RENAME TO idx_bookings_booker_start;
+ALTER INDEX idx_bookings_partitioned_booker_end RENAME TO idx_bookings_booker_end;
+ALTER INDEX idx_bookings_partitioned_booker_item RENAME TO idx_bookings_booker_item;
+ALTER INDEX idx_bookings_partitioned_item_start RENAME TO idx_bookings_item_start;
+ALTER INDEX idx_bookings_partitioned_status_end RENAME TO idx_bookings_status_end;
+ALTER INDEX idx_bookings_partitioned_owner_start RENAME TO idx_bookings_owner_start;
+ALTER INDEX idx_bookings_partitioned_owner_end RENAME TO idx_bookings_owner_end;
+ALTER INDEX idx_bookings_partitioned_booker_waiting RENAME TO idx_bookings_booker_waiting;
+ALTER INDEX idx_bookings_partitioned_booker_rejected RENAME TO idx_bookings_booker_rejected;
+ALTER INDEX idx_bookings_partitioned_owner_waiting RENAME TO idx_bookings_owner_waiting;
+ALTER INDEX idx_bookings_partitioned_owner_rejected RENAME TO idx_bookings_owner_rejected;
+
+-- Смена владельца вещи переносится и в архив.
+CREATE OR REPLACE FUNCTION sync_booking_owner() RETURNS TRIGGER AS
+$$
+BEGIN
+    UPDATE bookings SET owner_id = NEW.user_id WHERE item_id = NEW.item_id;
+    UPDATE bookings_archive SET owner_id = NEW.user_id WHERE item_id = NEW.item_id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,71 @@
+-- Таблица bookings секционируется по end_date помесячно: bookings_pYYYYMM.
+-- Бронирования за пределами созданных секций попадают в bookings_default; новые секции заранее
+-- создаёт и пустые старые секции удаляет BookingPartitionMaintainer.
+-- Секционированная таблица создаётся рядом со старой пустой: строки переносит порциями V9.1,
+-- а V9.2 подменяет таблицы под короткой блокировкой.
+CREATE TABLE bookings_partitioned
+(
+    booking_id BIGINT      NOT NULL,
+    start_date TIMESTAMP   NOT NULL,
+    end_date   TIMESTAMP   NOT NULL,
+    item_id    BIGINT      NOT NULL,
+    user_id    BIGINT      NOT NULL,
+    status     VARCHAR(20) NOT NULL,
+    version    BIGINT      NOT NULL DEFAULT 0,
+    owner_id   BIGINT      NOT NULL,
+    CONSTRAINT pk_bookings_partitioned PRIMARY KEY (booking_id, end_date),
+    CONSTRAINT fk_bookings_partitioned_item FOREIGN KEY (item_id) REFERENCES items (item_id),
+    CONSTRAINT fk_bookings_partitioned_booker FOREIGN KEY (user_id) REFERENCES users (user_id)
+) PARTITION BY RANGE (end_date);
+
+CREATE TABLE bookings_default PARTITION OF bookings_partitioned DEFAULT;
+
+DO
+$$
+    DECLARE
+        partition_month TIMESTAMP;
+    BEGIN
+        FOR partition_month IN
+            SELECT generate_series(date_trunc('month', COALESCE((SELECT MIN(end_date) FROM bookings), LOCALTIMESTAMP)),
+                                   date_trunc('month', LOCALTIMESTAMP) + INTERVAL '3 months',
+                                   INTERVAL '1 month')
+            LOOP
+                EXECUTE format('CREATE TABLE bookings_p%s PARTITION OF bookings_partitioned FOR VALUES FROM (%L) TO (%L)',
+                               to_char(partition_month, 'YYYYMM'), partition_month, partition_month + INTERVAL '1 month');
+            END LOOP;
+    END
+$$;
+
+-- Индексы создаются на пустой родительской таблице и наследуются всеми секциями.
+-- Имена временные, V9.2 переименовывает их после удаления старой таблицы.
+CREATE INDEX idx_bookings_partitioned_booker_start ON bookings_partitioned (user_id, start_date DESC, booking_id);
+CREATE INDEX idx_bookings_partitioned_booker_end ON bookings_partitioned (user_id, end_date);
+CREATE INDEX idx_bookings_partitioned_booker_item ON bookings_partitioned (user_id, item_id);
+CREATE INDEX idx_bookings_partitioned_item_start ON bookings_partitioned (item_id, start_date DESC, booking_id);
+CREATE INDEX idx_bookings_partitioned_status_end ON bookings_partitioned (status, end_date);
+CREATE INDEX idx_bookings_partitioned_owner_start ON bookings_partitioned (owner_id, start_date DESC, booking_id);
+CREATE INDEX idx_bookings_partitioned_owner_end ON bookings_partitioned (owner_id, end_date);
+CREATE INDEX idx_bookings_partitioned_booker_waiting ON bookings_partitioned (user_id, start_date DESC, booking_id) WHERE status = 'WAITING';
+CREATE INDEX idx_bookings_partitioned_booker_rejected ON bookings_partitioned (user_id, start_date DESC, booking_id) WHERE status = 'REJECTED';
+CREATE INDEX idx_bookings_partitioned_owner_waiting ON bookings_partitioned (owner_id, start_date DESC, booking_id) WHERE status = 'WAITING';
+CREATE INDEX idx_bookings_partitioned_owner_rejected ON bookings_partitioned (owner_id, start_date DESC, booking_id) WHERE status = 'REJECTED';
+
+-- Пока строки переносятся, каждое изменение старой таблицы сразу повторяется в новой.
+CREATE OR REPLACE FUNCTION mirror_booking_to_partitioned() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        DELETE FROM bookings_partitioned WHERE booking_id = OLD.booking_id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO bookings_partitioned (booking_id, start_date, end_date, item_id, user_id, status, version, owner_id)
+        VALUES (NEW.booking_id, NEW.start_date, NEW.end_date, NEW.item_id, NEW.user_id, NEW.status, NEW.version, NEW.owner_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_bookings_mirror_partitioned
+    AFTER INSERT OR UPDATE OR DELETE ON bookings
+    FOR EACH ROW
+EXECUTE FUNCTION mirror_booking_to_partitioned();
@@ -1,13 +1,368 @@
 package ru.practicum.shareit;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.json.SparseFieldsFilter;
+import ru.practicum.shareit.common.metrics.QueryBudgetGuard;
+import ru.practicum.shareit.common.metrics.RequestMetricsFilter;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
+@AutoConfigureMockMvc
 class ShareItTests {
 
+	private static final String USER_HEADER = "X-Sharer-User-Id";
+	private static final int ITEMS_PER_OWNER = 5;
+	private static final AtomicInteger USER_SEQUENCE = new AtomicInteger();
+
+	@Autowired
+	private MockMvc mvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private MeterRegistry meterRegistry;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private ItemRepository itemRepository;
+	@Autowired
+	private BookingRepository bookingRepository;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void itemEndpointsStayWithinQueryBudget() throws Exception {
+		long owner = createUser();
+		long booker = createUser();
+		List<Long> items = createItems(owner);
+		for (long itemId : items) {
+			addFinishedBooking(itemId, owner, booker);
+			perform(post("/items/{itemId}/comment", itemId), booker, Map.of("text", "Отличная вещь"));
+		}
+
+		perform(get("/items"), owner, null);
+		perform(get("/items/{itemId}", items.getFirst()), owner, null);
+		mvc.perform(get("/items/search").param("text", "дрель").header(USER_HEADER, owner))
+				.andExpect(status().isOk());
+
+		assertStatementsAtMost("GET", "/items", 3);
+		assertStatementsAtMost("GET", "/items/{itemId}", 3);
+		assertStatementsAtMost("GET", "/items/search", 3);
+		assertStatementsAtMost("POST", "/items/{itemId}/comment", 8);
+	}
+
+	@Test
+	void bookingEndpointsStayWithinQueryBudget() throws Exception {
+		long owner = createUser();
+		long booker = createUser();
+		List<Long> bookings = new ArrayList<>();
+		LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+		for (long itemId : createItems(owner)) {
+			String body = perform(post("/bookings"), booker, Map.of(
+					"itemId", itemId,
+					"start", start.toString(),
+					"end", start.plusDays(1).toString()));
+			bookings.add(objectMapper.readTree(body).get("id").asLong());
+		}
+
+		perform(patch("/bookings/{bookingId}", bookings.getFirst()).param("approved", "true"), owner, null);
+		perform(get("/bookings/{bookingId}", bookings.getFirst()), booker, null);
+		for (String state : List.of("ALL", "FUTURE", "WAITING")) {
+			perform(get("/bookings").param("state", state), booker, null);
+			perform(get("/bookings/owner").param("state", state), owner, null);
+		}
+
+		assertStatementsAtMost("POST", "/bookings", 6);
+		assertStatementsAtMost("PATCH", "/bookings/{bookingId}", 5);
+		assertStatementsAtMost("GET", "/bookings/{bookingId}", 5);
+		assertStatementsAtMost("GET", "/bookings", 5);
+		assertStatementsAtMost("GET", "/bookings/owner", 5);
+	}
+
+	@Test
+	void statementCountDoesNotGrowWithRows() throws Exception {
+		Map<String, Double> few = listStatements(1);
+		Map<String, Double> many = listStatements(4 * ITEMS_PER_OWNER);
+
+		assertTrue(few.values().stream().allMatch(count -> count > 0), few::toString);
+		assertEquals(few, many);
+	}
+
+	@Test
+	void ownerFeedReceivesNewBooking() throws Exception {
+		long owner = createUser();
+		long booker = createUser();
+		long itemId = createItems(owner).getFirst();
+		MvcResult feed = mvc.perform(get("/bookings/owner/stream")
+						.header(USER_HEADER, owner)
+						.accept(MediaType.TEXT_EVENT_STREAM))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+		String body = perform(post("/bookings"), booker, Map.of(
+				"itemId", itemId,
+				"start", start.toString(),
+				"end", start.plusDays(1).toString()));
+		long bookingId = objectMapper.readTree(body).get("id").asLong();
+
+		String expected = "\"id\":" + bookingId + ",";
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (! feed.getResponse().getContentAsString().contains(expected) && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		String events = feed.getResponse().getContentAsString();
+		assertTrue(events.contains("event:booking") && events.contains(expected), () -> "Событие бронирования не получено: " + events);
+	}
+
+	@Test
+	void fieldsParameterSelectsProperties() throws Exception {
+		long owner = createUser();
+		long itemId = createItems(owner).getFirst();
+
+		JsonNode item = objectMapper.readTree(perform(get("/items/{itemId}", itemId).param("fields", "name"), owner, null));
+
+		assertEquals(Set.of("id", "name"), fieldNames(item));
+		assertEquals(itemId, item.get("id").asLong());
+	}
+
+	@Test
+	void compactViewOmitsCollectionsAndReplacesNestedObjectsWithIds() throws Exception {
+		long owner = createUser();
+		createItems(owner);
+
+		JsonNode items = objectMapper.readTree(perform(get("/items").param("view", "compact"), owner, null));
+
+		assertEquals(ITEMS_PER_OWNER, items.size());
+		for (JsonNode item : items) {
+			assertFalse(item.has("comments"), () -> "Коллекция в компактном представлении: " + item);
+			assertTrue(item.has("name") && item.has("description"), () -> "Нет свойств вещи: " + item);
+			assertTrue(item.get("owner").isNumber(), () -> "Владелец не заменён ID: " + item);
+			assertEquals(owner, item.get("owner").asLong());
+		}
+	}
+
+	@Test
+	void nestedObjectsAreReplacedWithIds() throws Exception {
+		long owner = createUser();
+		long booker = createUser();
+		long itemId = createItems(owner).getFirst();
+		long bookingId = addFinishedBooking(itemId, owner, booker);
+
+		JsonNode booking = objectMapper.readTree(perform(get("/bookings/{bookingId}", bookingId).param("fields", "item,booker"), booker, null));
+
+		assertEquals(Set.of("id", "item", "booker"), fieldNames(booking));
+		assertEquals(itemId, booking.get("item").asLong());
+		assertEquals(booker, booking.get("booker").asLong());
+	}
+
+	@Test
+	void unknownViewIsRejected() throws Exception {
+		long owner = createUser();
+
+		mvc.perform(get("/items").param("view", "full").header(USER_HEADER, owner))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void compactViewDoesNotInitializeOwnerProxy() throws Exception {
+		long owner = createUser();
+		User proxy = userRepository.getReferenceById(owner);
+		ItemDto item = ItemDto.builder().id(1L).name("Дрель").owner(proxy).build();
+		ObjectWriter writer = objectMapper.writer(new SimpleFilterProvider()
+				.addFilter(SparseFieldsFilter.NAME, SparseFieldsFilter.of(null, SparseFieldsFilter.COMPACT_VIEW)));
+
+		JsonNode json = objectMapper.readTree(writer.writeValueAsString(item));
+
+		assertEquals(owner, json.get("owner").asLong());
+		assertFalse(Hibernate.isInitialized(proxy));
+	}
+
+	@Test
+	void binaryFormatsAreNegotiatedFromAccept() throws Exception {
+		long owner = createUser();
+		long itemId = createItems(owner).getFirst();
+		Map<String, ObjectMapper> readers = Map.of(
+				"application/cbor", new CBORMapper(),
+				"application/x-jackson-smile", new SmileMapper());
+
+		for (Map.Entry<String, ObjectMapper> format : readers.entrySet()) {
+			MvcResult result = mvc.perform(get("/items/{itemId}", itemId).header(USER_HEADER, owner).accept(format.getKey()))
+					.andExpect(status().isOk())
+					.andExpect(content().contentTypeCompatibleWith(format.getKey()))
+					.andReturn();
+			JsonNode item = format.getValue().readTree(result.getResponse().getContentAsByteArray());
+			assertEquals(itemId, item.get("id").asLong());
+		}
+	}
+
+	@Test
+	void jsonIsTheDefaultFormat() throws Exception {
+		long owner = createUser();
+		long itemId = createItems(owner).getFirst();
+
+		for (String accept : new String[] {MediaType.ALL_VALUE, null}) {
+			MockHttpServletRequestBuilder request = get("/items/{itemId}", itemId).header(USER_HEADER, owner);
+			if (accept != null) {
+				request.accept(accept);
+			}
+			String body = mvc.perform(request)
+					.andExpect(status().isOk())
+					.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+					.andReturn().getResponse().getContentAsString();
+			assertEquals(itemId, objectMapper.readTree(body).get("id").asLong());
+		}
+	}
+
+	private long createUser() throws Exception {
+		int number = USER_SEQUENCE.incrementAndGet();
+		String body = mvc.perform(post("/users")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(Map.of("name", "user" + number, "email", "user" + number + "@example.com"))))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body).get("id").asLong();
+	}
+
+	private List<Long> createItems(long owner) throws Exception {
+		return createItems(owner, ITEMS_PER_OWNER);
+	}
+
+	private List<Long> createItems(long owner, int count) throws Exception {
+		List<Long> items = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			String body = perform(post("/items"), owner, Map.of(
+					"name", "Дрель " + i,
+					"description", "Простая дрель",
+					"available", true));
+			items.add(objectMapper.readTree(body).get("id").asLong());
+		}
+		return items;
+	}
+
+	private long addFinishedBooking(long itemId, long ownerId, long bookerId) {
+		LocalDateTime now = LocalDateTime.now();
+		return bookingRepository.save(Booking.builder()
+				.start(now.minusDays(2))
+				.end(now.minusDays(1))
+				.item(itemRepository.getReferenceById(itemId))
+				.booker(userRepository.getReferenceById(bookerId))
+				.ownerId(ownerId)
+				.status(BookingStatus.APPROVED)
+				.build()).getId();
+	}
+
+	/**
+	 * Создаёт владельца с заданным числом вещей, у каждой из которых есть бронирование и комментарий,
+	 * и возвращает число SQL-запросов списков вещей и бронирований.
+	 */
+	private Map<String, Double> listStatements(int rows) throws Exception {
+		long owner = createUser();
+		long booker = createUser();
+		for (long itemId : createItems(owner, rows)) {
+			addFinishedBooking(itemId, owner, booker);
+			perform(post("/items/{itemId}/comment", itemId), booker, Map.of("text", "Отличная вещь"));
+		}
+
+		Map<String, Double> statements = new LinkedHashMap<>();
+		statements.put("GET /items", statementsOf(get("/items"), owner, "/items"));
+		statements.put("GET /bookings", statementsOf(get("/bookings").param("state", "ALL"), booker, "/bookings"));
+		statements.put("GET /bookings/owner", statementsOf(get("/bookings/owner").param("state", "ALL"), owner, "/bookings/owner"));
+		return statements;
+	}
+
+	private double statementsOf(MockHttpServletRequestBuilder request, long userId, String endpoint) throws Exception {
+		double[] before = totals(endpoint);
+		JsonNode rows = objectMapper.readTree(perform(request, userId, null));
+		double[] after = totals(endpoint);
+
+		assertFalse(rows.isEmpty());
+		assertEquals(1, after[1] - before[1]);
+		return after[0] - before[0];
+	}
+
+	private double[] totals(String endpoint) {
+		double[] totals = new double[2];
+		meterRegistry.find(RequestMetricsFilter.STATEMENTS).tags("endpoint", endpoint, "method", "GET").summaries()
+				.forEach(summary -> {
+					totals[0] += summary.totalAmount();
+					totals[1] += summary.count();
+				});
+		return totals;
+	}
+
+	private String perform(MockHttpServletRequestBuilder request, long userId, Object body) throws Exception {
+		request.header(USER_HEADER, userId);
+		if (body != null) {
+			request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+		}
+		return mvc.perform(request)
+				.andExpect(status().is2xxSuccessful())
+				.andReturn().getResponse().getContentAsString();
+	}
+
+	private static Set<String> fieldNames(JsonNode node) {
+		Set<String> names = new HashSet<>();
+		node.fieldNames().forEachRemaining(names::add);
+		return names;
+	}
+
+	private void assertStatementsAtMost(String method, String endpoint, long budget) {
+		List<DistributionSummary> summaries = new ArrayList<>(meterRegistry.find(RequestMetricsFilter.STATEMENTS)
+				.tags("endpoint", endpoint, "method", method)
+				.summaries());
+		assertFalse(summaries.isEmpty(), () -> "Нет метрик SQL-запросов для " + method + " " + endpoint);
+		double max = summaries.stream().mapToDouble(DistributionSummary::max).max().orElse(0);
+		assertTrue(max <= budget, () -> String.format("%s %s: %.0f SQL-запросов при бюджете %d", method, endpoint, max, budget));
+		double exceeded = meterRegistry.find(QueryBudgetGuard.EXCEEDED)
+				.tags("endpoint", endpoint, "method", method)
+				.counters().stream()
+				.mapToDouble(Counter::count)
+				.sum();
+		assertEquals(0, exceeded, () -> String.format("%s %s: превышен бюджет обращений к базе данных", method, endpoint));
+	}
 }
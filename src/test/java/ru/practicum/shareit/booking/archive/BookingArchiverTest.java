@@ -0,0 +1,208 @@
+package ru.practicum.shareit.booking.archive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.enums.BookingSearchState;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.interfaces.BookingService;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingArchiveRepository;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.comment.dto.CommentDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemService;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BookingArchiverTest {
+
+	private static final int RECENT = 3;
+	private static final int ARCHIVED = 4;
+
+	@Autowired
+	private BookingArchiver archiver;
+	@Autowired
+	private BookingService bookingService;
+	@Autowired
+	private ItemService itemService;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private ItemRepository itemRepository;
+	@Autowired
+	private BookingRepository bookingRepository;
+	@Autowired
+	private BookingArchiveRepository archiveRepository;
+
+	private User owner;
+	private User booker;
+	private Item recentItem;
+	private Item archivedItem;
+
+	@BeforeEach
+	void setUp() {
+		owner = createUser();
+		booker = createUser();
+		recentItem = createItem(owner);
+		archivedItem = createItem(owner);
+		LocalDateTime now = LocalDateTime.now();
+		for (int i = 1; i <= RECENT; i++) {
+			addBooking(recentItem, now.minusDays(i + 1), now.minusDays(i));
+		}
+		for (int i = 1; i <= ARCHIVED; i++) {
+			addBooking(archivedItem, now.minusDays(100 + i + 1), now.minusDays(100 + i));
+		}
+	}
+
+	@Test
+	void pastPagesContinueIntoArchive() {
+		List<Long> expected = ids(bookingService.getBookings(booker.getId(), BookingSearchState.PAST, null, null));
+
+		assertTrue(archiver.archive(LocalDateTime.now().minusDays(30)) >= ARCHIVED);
+
+		for (BookingSearchState state : List.of(BookingSearchState.ALL, BookingSearchState.PAST)) {
+			assertEquals(expected, ids(bookingService.getBookings(booker.getId(), state, null, null)));
+			for (int size = 1; size <= RECENT + ARCHIVED + 1; size++) {
+				assertEquals(expected, readAll(size, (cursor, pageSize) -> bookingService.getBookings(booker.getId(), state, cursor, pageSize)));
+				assertEquals(expected, readAll(size, (cursor, pageSize) -> bookingService.getOwnerBookings(owner.getId(), state, cursor, pageSize)));
+			}
+		}
+	}
+
+	@Test
+	void firstPageDoesNotReadArchiveWhileHotBookingsRemain() {
+		archiver.archive(LocalDateTime.now().minusDays(30));
+
+		BookingPageDto page = bookingService.getBookings(booker.getId(), BookingSearchState.PAST, null, RECENT);
+
+		assertEquals(RECENT, page.bookings().size());
+		assertTrue(page.bookings().stream().allMatch(booking -> recentItem.getId().equals(booking.getItem().getId())));
+		BookingPageDto archivedPage = bookingService.getBookings(booker.getId(), BookingSearchState.PAST, page.nextCursor(), RECENT);
+		assertTrue(archivedPage.bookings().stream().allMatch(booking -> archivedItem.getId().equals(booking.getItem().getId())));
+		assertTrue(bookingService.getBookings(booker.getId(), BookingSearchState.WAITING, null, null).bookings().isEmpty());
+	}
+
+	@Test
+	void bookingsOlderThanHorizonRemainVisibleUntilArchived() {
+		LocalDateTime now = LocalDateTime.now();
+		addBooking(archivedItem, now.minusDays(401), now.minusDays(400));
+
+		List<Long> expected = ids(bookingService.getBookings(booker.getId(), BookingSearchState.PAST, null, null));
+		BookingPageDto first = bookingService.getBookings(booker.getId(), BookingSearchState.PAST, null, RECENT + ARCHIVED);
+		BookingPageDto last = bookingService.getBookings(booker.getId(), BookingSearchState.PAST, first.nextCursor(), RECENT + ARCHIVED);
+
+		assertEquals(RECENT + ARCHIVED + 1, expected.size());
+		List<Long> paged = new ArrayList<>(ids(first));
+		paged.addAll(ids(last));
+		assertEquals(expected, paged);
+		assertNull(last.nextCursor());
+	}
+
+	@Test
+	void archivedBookingAllowsComment() {
+		archiver.archive(LocalDateTime.now().minusDays(30));
+
+		assertFalse(archiveRepository.existsByBookerIdAndItemId(booker.getId(), recentItem.getId()));
+		assertTrue(bookingRepository.findByBookerIdAndItemId(booker.getId(), archivedItem.getId()).isEmpty());
+		CommentDto comment = itemService.addCommentToItem(booker.getId(), archivedItem.getId(), CommentDto.builder().text("Давно брал, всё работало").build());
+		assertEquals(booker.getName(), comment.getAuthorName());
+	}
+
+	@Test
+	void archivedBookingIsFoundById() {
+		LocalDateTime now = LocalDateTime.now();
+		Booking old = addBooking(archivedItem, now.minusDays(202), now.minusDays(201));
+		User stranger = createUser();
+
+		archiver.archive(now.minusDays(30));
+
+		assertTrue(bookingRepository.findById(old.getId()).isEmpty());
+		BookingDto byBooker = bookingService.getBooking(old.getId(), booker.getId());
+		assertEquals(old.getId(), byBooker.getId());
+		assertEquals(archivedItem.getId(), byBooker.getItem().getId());
+		assertEquals(BookingStatus.APPROVED, byBooker.getStatus());
+		assertEquals(old.getId(), bookingService.getBooking(old.getId(), owner.getId()).getId());
+		assertThrows(AccessDeniedException.class, () -> bookingService.getBooking(old.getId(), stranger.getId()));
+		assertThrows(NotFoundException.class, () -> bookingService.getBooking(Long.MAX_VALUE, booker.getId()));
+	}
+
+	@Test
+	void archivedRejectedAndWaitingBookingsRemainListed() {
+		LocalDateTime now = LocalDateTime.now();
+		Booking rejected = addBooking(archivedItem, now.minusDays(302), now.minusDays(301), BookingStatus.REJECTED);
+		Booking stale = addBooking(archivedItem, now.minusDays(304), now.minusDays(303), BookingStatus.WAITING);
+		Booking recentRejected = addBooking(recentItem, now.minusDays(10), now.minusDays(9), BookingStatus.REJECTED);
+
+		archiver.archive(now.minusDays(30));
+
+		assertTrue(bookingRepository.findById(rejected.getId()).isEmpty());
+		assertTrue(bookingRepository.findById(stale.getId()).isEmpty());
+		List<Long> expectedRejected = List.of(recentRejected.getId(), rejected.getId());
+		assertEquals(expectedRejected, ids(bookingService.getBookings(booker.getId(), BookingSearchState.REJECTED, null, null)));
+		assertEquals(expectedRejected, ids(bookingService.getOwnerBookings(owner.getId(), BookingSearchState.REJECTED, null, null)));
+		assertEquals(expectedRejected, readAll(1, (cursor, pageSize) -> bookingService.getBookings(booker.getId(), BookingSearchState.REJECTED, cursor, pageSize)));
+		assertEquals(expectedRejected, readAll(1, (cursor, pageSize) -> bookingService.getOwnerBookings(owner.getId(), BookingSearchState.REJECTED, cursor, pageSize)));
+		assertEquals(List.of(stale.getId()), ids(bookingService.getBookings(booker.getId(), BookingSearchState.WAITING, null, null)));
+		assertEquals(List.of(stale.getId()), ids(bookingService.getOwnerBookings(owner.getId(), BookingSearchState.WAITING, null, 1)));
+	}
+
+	private List<Long> readAll(int size, BiFunction<String, Integer, BookingPageDto> pages) {
+		List<Long> ids = new ArrayList<>();
+		String cursor = null;
+		do {
+			BookingPageDto page = pages.apply(cursor, size);
+			assertTrue(page.bookings().size() <= size);
+			ids.addAll(ids(page));
+			cursor = page.nextCursor();
+		} while (cursor != null && ids.size() <= RECENT + ARCHIVED);
+		assertNull(cursor);
+		return ids;
+	}
+
+	private static List<Long> ids(BookingPageDto page) {
+		return page.bookings().stream().map(BookingDto::getId).toList();
+	}
+
+	private User createUser() {
+		String name = "archive" + System.nanoTime();
+		return userRepository.save(User.builder().name(name).email(name + "@example.com").build());
+	}
+
+	private Item createItem(User itemOwner) {
+		return itemRepository.save(Item.builder().name("Палатка").description("Старая палатка").available(true).owner(itemOwner).build());
+	}
+
+	private Booking addBooking(Item item, LocalDateTime start, LocalDateTime end) {
+		return addBooking(item, start, end, BookingStatus.APPROVED);
+	}
+
+	private Booking addBooking(Item item, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+		return bookingRepository.save(Booking.builder()
+				.start(start)
+				.end(end)
+				.item(item)
+				.booker(booker)
+				.ownerId(owner.getId())
+				.status(status)
+				.build());
+	}
+}
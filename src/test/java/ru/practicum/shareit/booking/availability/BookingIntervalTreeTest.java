@@ -0,0 +1,115 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.booking.availability.BookingIntervalTree.NONE;
+
+class BookingIntervalTreeTest {
+
+	private final BookingIntervalTree tree = new BookingIntervalTree();
+
+	@Test
+	void emptyTreeHasNoIntervals() {
+		assertEquals(0, tree.size());
+		assertFalse(tree.overlaps(0, 100));
+		assertEquals(NONE, tree.endOfIntervalContaining(10));
+		assertEquals(NONE, tree.nextStartAfter(10));
+	}
+
+	@Test
+	void overlapsTreatsIntervalsAsHalfOpen() {
+		tree.insert(1, 10, 20);
+
+		assertTrue(tree.overlaps(15, 16));
+		assertTrue(tree.overlaps(5, 11));
+		assertTrue(tree.overlaps(19, 30));
+		assertTrue(tree.overlaps(0, 100));
+		assertFalse(tree.overlaps(0, 10));
+		assertFalse(tree.overlaps(20, 30));
+	}
+
+	@Test
+	void overlapsFindsIntervalHiddenInLeftSubtree() {
+		tree.insert(1, 0, 1000);
+		for (int i = 2; i <= 50; i++) {
+			tree.insert(i, i * 10L, i * 10L + 1);
+		}
+
+		assertTrue(tree.overlaps(995, 999));
+		assertFalse(tree.overlaps(1000, 2000));
+	}
+
+	@Test
+	void removeDeletesOnlyMatchingBooking() {
+		tree.insert(1, 10, 20);
+		tree.insert(2, 10, 30);
+
+		assertFalse(tree.remove(3, 10));
+		assertFalse(tree.remove(1, 11));
+		assertTrue(tree.remove(1, 10));
+		assertFalse(tree.remove(1, 10));
+
+		assertEquals(1, tree.size());
+		assertTrue(tree.overlaps(25, 26));
+		assertTrue(tree.remove(2, 10));
+		assertEquals(0, tree.size());
+		assertFalse(tree.overlaps(0, 100));
+	}
+
+	@Test
+	void nextStartAfterReturnsNearestLaterStart() {
+		tree.insert(1, 30, 40);
+		tree.insert(2, 10, 20);
+		tree.insert(3, 50, 60);
+
+		assertEquals(10, tree.nextStartAfter(0));
+		assertEquals(30, tree.nextStartAfter(10));
+		assertEquals(50, tree.nextStartAfter(35));
+		assertEquals(NONE, tree.nextStartAfter(50));
+	}
+
+	@Test
+	void endOfIntervalContainingReturnsEndOfCurrentInterval() {
+		tree.insert(1, 10, 20);
+		tree.insert(2, 30, 40);
+
+		assertEquals(20, tree.endOfIntervalContaining(10));
+		assertEquals(20, tree.endOfIntervalContaining(19));
+		assertEquals(NONE, tree.endOfIntervalContaining(20));
+		assertEquals(40, tree.endOfIntervalContaining(35));
+		assertEquals(NONE, tree.endOfIntervalContaining(5));
+	}
+
+	@Test
+	void matchesLinearScanOnRandomIntervals() {
+		Random random = new Random(42);
+		List<long[]> intervals = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			if (! intervals.isEmpty() && random.nextInt(3) == 0) {
+				long[] removed = intervals.remove(random.nextInt(intervals.size()));
+				assertTrue(tree.remove(removed[0], removed[1]));
+			} else {
+				long start = random.nextInt(10_000);
+				long[] interval = {i, start, start + 1 + random.nextInt(100)};
+				intervals.add(interval);
+				tree.insert(interval[0], interval[1], interval[2]);
+			}
+			long from = random.nextInt(10_000);
+			long to = from + 1 + random.nextInt(50);
+			boolean expected = intervals.stream().anyMatch(interval -> interval[1] < to && interval[2] > from);
+			long expectedNext = intervals.stream().mapToLong(interval -> interval[1]).filter(start -> start > from)
+					.min().orElse(NONE);
+
+			assertEquals(intervals.size(), tree.size());
+			assertEquals(expected, tree.overlaps(from, to));
+			assertEquals(expectedNext, tree.nextStartAfter(from));
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.BookingException;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemAvailabilityIndexTest {
+
+	private static final int THREADS = 16;
+
+	private final ItemAvailabilityIndex index = new ItemAvailabilityIndex(Mockito.mock(BookingRepository.class),
+			new AvailabilityProperties(4));
+	private final AtomicLong ids = new AtomicLong();
+	private final Item item = Item.builder().id(1L).build();
+	private final LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+	@Test
+	void onlyOneConcurrentReservationOfSamePeriodSucceeds() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch ready = new CountDownLatch(THREADS);
+		CountDownLatch go = new CountDownLatch(1);
+		AtomicInteger persisted = new AtomicInteger();
+		List<Future<Boolean>> results = new ArrayList<>();
+		try {
+			for (int i = 0; i < THREADS; i++) {
+				results.add(executor.submit(() -> {
+					ready.countDown();
+					go.await();
+					try {
+						index.reserve(booking(start, start.plusHours(2)), () -> {
+							persisted.incrementAndGet();
+							return booking(start, start.plusHours(2));
+						});
+						return true;
+					} catch (BookingException e) {
+						return false;
+					}
+				}));
+			}
+			assertTrue(ready.await(5, TimeUnit.SECONDS));
+			go.countDown();
+			int succeeded = 0;
+			for (Future<Boolean> result : results) {
+				succeeded += result.get(5, TimeUnit.SECONDS) ? 1 : 0;
+			}
+
+			assertEquals(1, succeeded);
+			assertEquals(1, persisted.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void failedPersistLeavesNoEntry() {
+		RuntimeException failure = new IllegalStateException("сбой сохранения");
+
+		assertSame(failure, assertThrows(IllegalStateException.class,
+				() -> index.reserve(booking(start, start.plusHours(2)), () -> {
+					throw failure;
+				})));
+		assertEquals(0, index.indexedItemCount());
+		assertSame(ItemBookingSummary.EMPTY, index.summary(item.getId()));
+
+		Booking saved = booking(start, start.plusHours(2));
+		assertSame(saved, index.reserve(booking(start, start.plusHours(2)), () -> saved));
+		assertEquals(1, index.indexedItemCount());
+		assertEquals(start, index.summary(item.getId()).nextBooking());
+	}
+
+	@Test
+	void releasedPeriodCanBeReservedAgain() {
+		Booking first = index.reserve(booking(start, start.plusHours(2)), () -> booking(start, start.plusHours(2)));
+
+		assertThrows(BookingException.class,
+				() -> index.reserve(booking(start.plusHours(1), start.plusHours(3)), () -> booking(start, start.plusHours(3))));
+		index.release(first);
+		index.reserve(booking(start.plusHours(1), start.plusHours(3)), () -> booking(start.plusHours(1), start.plusHours(3)));
+
+		assertEquals(start.plusHours(1), index.summary(item.getId()).nextBooking());
+	}
+
+	@Test
+	void refreshRollsSummaryFromNextToLastBooking() throws Exception {
+		LocalDateTime begin = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+		LocalDateTime finish = begin.plusSeconds(1);
+		index.reserve(booking(begin, finish), () -> booking(begin, finish));
+
+		assertEquals(new ItemBookingSummary(null, begin), index.summary(item.getId()));
+
+		awaitAndRefresh(begin);
+		assertEquals(new ItemBookingSummary(finish, null), index.summary(item.getId()));
+
+		awaitAndRefresh(finish);
+		assertSame(ItemBookingSummary.EMPTY, index.summary(item.getId()));
+		assertEquals(0, index.indexedItemCount());
+	}
+
+	@Test
+	void rejectedBookingDoesNotAppearInSummary() {
+		Booking rejected = index.reserve(booking(start, start.plusHours(2)), () -> booking(start, start.plusHours(2)));
+		Booking next = index.reserve(booking(start.plusHours(3), start.plusHours(4)),
+				() -> booking(start.plusHours(3), start.plusHours(4)));
+
+		index.release(rejected);
+
+		assertEquals(next.getStart(), index.summary(item.getId()).nextBooking());
+	}
+
+	private void awaitAndRefresh(LocalDateTime moment) throws InterruptedException {
+		while (LocalDateTime.now().isBefore(moment)) {
+			Thread.sleep(20);
+		}
+		index.refreshDueSummaries();
+	}
+
+	private Booking booking(LocalDateTime from, LocalDateTime to) {
+		return Booking.builder()
+				.id(ids.incrementAndGet())
+				.item(item)
+				.start(from)
+				.end(to)
+				.status(BookingStatus.WAITING)
+				.build();
+	}
+}
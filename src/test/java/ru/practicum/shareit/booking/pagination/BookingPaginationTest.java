@@ -0,0 +1,206 @@
+package ru.practicum.shareit.booking.pagination;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.enums.BookingSearchState;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.BookingException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingPaginationTest {
+
+	private static final String USER_HEADER = "X-Sharer-User-Id";
+	private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+	private static final int PAGE_SIZE = 2;
+	private static final int SAME_START = 4;
+
+	@Autowired
+	private MockMvc mvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private ItemRepository itemRepository;
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	private User owner;
+	private User booker;
+	private LocalDateTime sameStart;
+	private final List<Booking> bookings = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		owner = createUser();
+		booker = createUser();
+		Item item = itemRepository.save(Item.builder().name("Лодка").description("Надувная лодка").available(true).owner(owner).build());
+		LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+		sameStart = now.plusDays(3);
+		for (int i = 0; i < 3; i++) {
+			addBooking(item, now.minusHours(i + 1), now.plusHours(i + 1), BookingStatus.APPROVED);
+		}
+		for (int i = 0; i < SAME_START; i++) {
+			addBooking(item, sameStart, sameStart.plusDays(1), i % 2 == 0 ? BookingStatus.WAITING : BookingStatus.REJECTED);
+		}
+		addBooking(item, now.plusDays(2), now.plusDays(4), BookingStatus.WAITING);
+		addBooking(item, now.plusDays(5), now.plusDays(6), BookingStatus.REJECTED);
+		addBooking(item, now.minusDays(5), now.minusDays(4), BookingStatus.REJECTED);
+		addBooking(item, now.minusDays(5), now.minusDays(4), BookingStatus.WAITING);
+	}
+
+	@Test
+	void currentPagesFollowCursor() throws Exception {
+		LocalDateTime now = LocalDateTime.now();
+		assertPaged(BookingSearchState.CURRENT, booking -> booking.getStart().isBefore(now) && booking.getEnd().isAfter(now));
+	}
+
+	@Test
+	void futurePagesFollowCursor() throws Exception {
+		LocalDateTime now = LocalDateTime.now();
+		assertPaged(BookingSearchState.FUTURE, booking -> booking.getStart().isAfter(now));
+	}
+
+	@Test
+	void waitingPagesFollowCursor() throws Exception {
+		assertPaged(BookingSearchState.WAITING, booking -> booking.getStatus() == BookingStatus.WAITING);
+	}
+
+	@Test
+	void rejectedPagesFollowCursor() throws Exception {
+		assertPaged(BookingSearchState.REJECTED, booking -> booking.getStatus() == BookingStatus.REJECTED);
+	}
+
+	@Test
+	void sameStartIsOrderedById() throws Exception {
+		List<Long> expected = bookings.stream()
+				.filter(booking -> booking.getStart().equals(sameStart))
+				.map(Booking::getId)
+				.sorted()
+				.toList();
+
+		for (int size = 1; size <= SAME_START; size++) {
+			List<Long> paged = readAll("/bookings", booker, BookingSearchState.FUTURE, size).stream()
+					.filter(expected::contains)
+					.toList();
+
+			assertEquals(expected, paged, "size = " + size);
+		}
+	}
+
+	@Test
+	void malformedCursorIsRejected() throws Exception {
+		List<String> cursors = List.of("!!!", "a", "+/+/", encode("не курсор"), encode("2024-01-01T10:00:00"),
+				encode("2024-01-01T10:00:00|abc"), encode("2024-01-01T10:00:00|1|x"), encode("2024-13-01T10:00:00|1"),
+				encode("2024-01-01T10:00:00|99999999999999999999"), encode("2024-01-01T10:00:00|1|a|a"), encode("|1"));
+		for (String cursor : cursors) {
+			for (String path : List.of("/bookings", "/bookings/owner")) {
+				mvc.perform(get(path).param("cursor", cursor).param("size", "2").header(USER_HEADER, booker.getId()))
+						.andExpect(status().isBadRequest());
+			}
+		}
+	}
+
+	@Test
+	void cursorSurvivesEncoding() {
+		BookingCursor cursor = new BookingCursor(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000), 42, false);
+		BookingCursor archived = new BookingCursor(cursor.start(), cursor.id(), true);
+
+		assertEquals(cursor, BookingCursor.decode(cursor.encode()));
+		assertEquals(archived, BookingCursor.decode(archived.encode()));
+		assertEquals(BookingCursor.FIRST, BookingCursor.decode(null));
+		assertEquals(BookingCursor.FIRST, BookingCursor.decode(" "));
+		assertThrows(BookingException.class, () -> BookingCursor.decode(encode("2024-01-01T10:00:00|1|b")));
+	}
+
+	private void assertPaged(BookingSearchState state, Predicate<Booking> filter) throws Exception {
+		List<Long> expected = bookings.stream()
+				.filter(filter)
+				.sorted(Comparator.comparing(Booking::getStart).reversed().thenComparing(Booking::getId))
+				.map(Booking::getId)
+				.toList();
+
+		assertTrue(expected.size() > PAGE_SIZE, state.name());
+		assertEquals(expected, readAll("/bookings", booker, state, PAGE_SIZE), state.name());
+		assertEquals(expected, readAll("/bookings/owner", owner, state, PAGE_SIZE), state.name());
+		assertEquals(expected, readAll("/bookings", booker, state, null), state.name());
+	}
+
+	private List<Long> readAll(String path, User user, BookingSearchState state, Integer size) throws Exception {
+		List<Long> ids = new ArrayList<>();
+		Set<String> cursors = new HashSet<>();
+		String cursor = null;
+		do {
+			MockHttpServletRequestBuilder request = get(path).param("state", state.name()).header(USER_HEADER, user.getId());
+			if (size != null) {
+				request.param("size", size.toString());
+			}
+			if (cursor != null) {
+				request.param("cursor", cursor);
+			}
+			MvcResult result = mvc.perform(request).andExpect(status().isOk()).andReturn();
+			JsonNode page = objectMapper.readTree(result.getResponse().getContentAsString());
+			assertTrue(size == null || page.size() <= size);
+			page.forEach(booking -> ids.add(booking.get("id").asLong()));
+			cursor = result.getResponse().getHeader(NEXT_CURSOR_HEADER);
+			if (size == null) {
+				assertNull(cursor);
+			}
+			assertTrue(cursor == null || cursors.add(cursor), "курсор повторился: " + cursor);
+		} while (cursor != null);
+		return ids;
+	}
+
+	private void addBooking(Item item, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+		bookings.add(bookingRepository.save(Booking.builder()
+				.start(start)
+				.end(end)
+				.item(item)
+				.booker(booker)
+				.ownerId(owner.getId())
+				.status(status)
+				.build()));
+	}
+
+	private User createUser() {
+		String name = "page" + System.nanoTime();
+		return userRepository.save(User.builder().name(name).email(name + "@example.com").build());
+	}
+
+	private static String encode(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,167 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.pagination.BookingCursor;
+import ru.practicum.shareit.item.model.Item;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверяет планы выполнения запросов {@link BookingRepository} и {@link BookingArchiveRepository} на заполненной базе:
+ * каждый запрос выполняется, его SQL перехватывается и передаётся в {@code EXPLAIN},
+ * а тест падает, если план читает таблицу целиком вместо индекса.
+ */
+abstract class BookingQueryPlanTestBase {
+
+	static final String STATEMENT_INSPECTOR_PROPERTY =
+			"spring.jpa.properties.hibernate.session_factory.statement_inspector=ru.practicum.shareit.booking.repository.CapturingStatementInspector";
+
+	static final int USERS = 200;
+	static final int ITEMS = 2_000;
+	static final int BOOKINGS = 20_000;
+	static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+	static final LocalDateTime HORIZON = NOW.minusDays(365);
+
+	private static final BookingStatus[] STATUSES = BookingStatus.values();
+	private static final Limit PAGE = Limit.of(10);
+
+	@Autowired
+	BookingRepository bookingRepository;
+	@Autowired
+	BookingArchiveRepository archiveRepository;
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Возвращает текстовый план выполнения запроса.
+	 *
+	 * @param sql запрос с параметрами {@code ?}.
+	 * @return план выполнения.
+	 */
+	abstract String explain(String sql);
+
+	/**
+	 * Проверяет, содержит ли план полное чтение таблицы.
+	 *
+	 * @param plan план выполнения.
+	 * @return {@code true}, если хотя бы одна таблица читается целиком.
+	 */
+	abstract boolean hasFullScan(String plan);
+
+	/**
+	 * Вызывается после заполнения базы, например для сбора статистики.
+	 */
+	void afterSeed() {
+	}
+
+	@BeforeEach
+	void seed() {
+		Long bookings = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings", Long.class);
+		if (bookings != null && bookings >= BOOKINGS) {
+			return;
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO users (user_id, name, email) VALUES (?, ?, ?)",
+				LongStream.rangeClosed(1, USERS)
+						.mapToObj(id -> new Object[] {id, "user" + id, "plan" + id + "@test.ru"})
+						.toList());
+		jdbcTemplate.batchUpdate("INSERT INTO items (item_id, name, description, available, user_id) VALUES (?, ?, ?, ?, ?)",
+				LongStream.rangeClosed(1, ITEMS)
+						.mapToObj(id -> new Object[] {id, "item" + id, "description" + id, true, id % USERS + 1})
+						.toList());
+		List<Object[]> rows = new ArrayList<>(BOOKINGS);
+		for (long id = 1; id <= BOOKINGS; id++) {
+			LocalDateTime start = NOW.minusDays(BOOKINGS / 2 - id);
+			long itemId = id % ITEMS + 1;
+			rows.add(new Object[] {id, Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(2)),
+					itemId, (id * 7) % USERS + 1, itemId % USERS + 1, STATUSES[(int) (id % STATUSES.length)].name()});
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO bookings (booking_id, start_date, end_date, item_id, user_id, owner_id, status, version) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, ?, 0)", rows);
+		jdbcTemplate.update("INSERT INTO bookings_archive (booking_id, start_date, end_date, item_id, user_id, owner_id, status) "
+				+ "SELECT booking_id, start_date, end_date, item_id, user_id, owner_id, status FROM bookings WHERE end_date < ?", Timestamp.valueOf(NOW));
+		afterSeed();
+	}
+
+	@TestFactory
+	Stream<DynamicTest> bookingQueriesUseIndexes() {
+		return queries().entrySet().stream()
+				.map(query -> DynamicTest.dynamicTest(query.getKey(), () -> assertUsesIndexes(query.getValue())));
+	}
+
+	private void assertUsesIndexes(Runnable query) {
+		for (String sql : selects(query)) {
+			String plan = explain(sql);
+			assertTrue(! hasFullScan(plan), () -> "Полное чтение таблицы:\n" + sql + "\n" + plan);
+		}
+	}
+
+	/**
+	 * Выполняет запрос и возвращает перехваченные SELECT.
+	 *
+	 * @param query вызов репозитория.
+	 * @return SQL выполненных SELECT.
+	 */
+	List<String> selects(Runnable query) {
+		List<String> selects = CapturingStatementInspector.capture(query).stream()
+				.filter(sql -> sql.stripLeading().regionMatches(true, 0, "select", 0, 6))
+				.toList();
+		assertFalse(selects.isEmpty(), "Запрос не выполнил ни одного SELECT");
+		return selects;
+	}
+
+	Map<String, Runnable> queries() {
+		LocalDateTime first = BookingCursor.FIRST.start();
+		Item item = new Item();
+		item.setId(1L);
+
+		Map<String, Runnable> queries = new LinkedHashMap<>();
+		queries.put("findByItemId", () -> bookingRepository.findByItemId(1));
+		queries.put("findByItemIn", () -> bookingRepository.findByItemIn(List.of(item)));
+		queries.put("findByStatusInAndEndAfter", () -> bookingRepository.findByStatusInAndEndAfter(
+				List.of(BookingStatus.WAITING, BookingStatus.APPROVED), NOW.plusDays(BOOKINGS / 2 - 10)));
+		queries.put("findApprovalStateById", () -> bookingRepository.findApprovalStateById(1));
+		queries.put("findByBookerIdAndItemId", () -> bookingRepository.findByBookerIdAndItemId(1, 1));
+		queries.put("booker ALL", () -> bookingRepository.findRowsByBookerId(1, first, 0, HORIZON, PAGE));
+		queries.put("booker ALL next page", () -> bookingRepository.findRowsByBookerId(1, NOW, BOOKINGS / 2, HORIZON, PAGE));
+		queries.put("booker ended before horizon", () -> bookingRepository.findRowsByBookerIdEndedBefore(1, first, 0, HORIZON, PAGE));
+		queries.put("booker CURRENT", () -> bookingRepository.findCurrentRowsByBookerId(1, first, 0, NOW, PAGE));
+		queries.put("booker PAST", () -> bookingRepository.findPastRowsByBookerId(1, first, 0, NOW, HORIZON, PAGE));
+		queries.put("booker FUTURE", () -> bookingRepository.findFutureRowsByBookerId(1, first, 0, NOW, PAGE));
+		queries.put("booker WAITING", () -> bookingRepository.findRowsByBookerIdAndStatus(1, first, 0, BookingStatus.WAITING, HORIZON, PAGE));
+		queries.put("booker REJECTED", () -> bookingRepository.findRowsByBookerIdAndStatus(1, NOW, BOOKINGS / 2, BookingStatus.REJECTED, HORIZON, PAGE));
+		queries.put("owner ALL", () -> bookingRepository.findRowsByOwnerId(1, first, 0, HORIZON, PAGE));
+		queries.put("owner ALL next page", () -> bookingRepository.findRowsByOwnerId(1, NOW, BOOKINGS / 2, HORIZON, PAGE));
+		queries.put("owner ended before horizon", () -> bookingRepository.findRowsByOwnerIdEndedBefore(1, first, 0, HORIZON, PAGE));
+		queries.put("owner CURRENT", () -> bookingRepository.findCurrentRowsByOwnerId(1, first, 0, NOW, PAGE));
+		queries.put("owner PAST", () -> bookingRepository.findPastRowsByOwnerId(1, first, 0, NOW, HORIZON, PAGE));
+		queries.put("owner FUTURE", () -> bookingRepository.findFutureRowsByOwnerId(1, first, 0, NOW, PAGE));
+		queries.put("owner WAITING", () -> bookingRepository.findRowsByOwnerIdAndStatus(1, first, 0, BookingStatus.WAITING, HORIZON, PAGE));
+		queries.put("owner REJECTED", () -> bookingRepository.findRowsByOwnerIdAndStatus(1, NOW, BOOKINGS / 2, BookingStatus.REJECTED, HORIZON, PAGE));
+		queries.put("archive booker ALL", () -> archiveRepository.findRowsByBookerId(1, first, 0, PAGE));
+		queries.put("archive booker ALL next page", () -> archiveRepository.findRowsByBookerId(1, NOW.minusDays(BOOKINGS / 4), 0, PAGE));
+		queries.put("archive owner ALL", () -> archiveRepository.findRowsByOwnerId(1, first, 0, PAGE));
+		queries.put("booker REJECTED ended before horizon", () -> bookingRepository.findRowsByBookerIdAndStatusEndedBefore(1, first, 0, BookingStatus.REJECTED, HORIZON, PAGE));
+		queries.put("owner WAITING ended before horizon", () -> bookingRepository.findRowsByOwnerIdAndStatusEndedBefore(1, first, 0, BookingStatus.WAITING, HORIZON, PAGE));
+		queries.put("archive booker REJECTED", () -> archiveRepository.findRowsByBookerIdAndStatus(1, first, 0, BookingStatus.REJECTED, PAGE));
+		queries.put("archive owner WAITING", () -> archiveRepository.findRowsByOwnerIdAndStatus(1, first, 0, BookingStatus.WAITING, PAGE));
+		queries.put("archive findRowById", () -> archiveRepository.findRowById(1));
+		queries.put("archive existsByBookerIdAndItemId", () -> archiveRepository.existsByBookerIdAndItemId(1, 1));
+		return queries;
+	}
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.common.metrics.QueryCountingStatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Перехватчик SQL для тестов: дополнительно запоминает запросы, подготовленные в текущем потоке.
+ */
+public class CapturingStatementInspector extends QueryCountingStatementInspector {
+
+	private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+	static List<String> capture(Runnable action) {
+		List<String> statements = new ArrayList<>();
+		CAPTURED.set(statements);
+		try {
+			action.run();
+		} finally {
+			CAPTURED.remove();
+		}
+		return statements;
+	}
+
+	@Override
+	public String inspect(String sql) {
+		List<String> statements = CAPTURED.get();
+		if (statements != null) {
+			statements.add(sql);
+		}
+		return super.inspect(sql);
+	}
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+@SpringBootTest (properties = BookingQueryPlanTestBase.STATEMENT_INSPECTOR_PROPERTY)
+class H2BookingQueryPlanTest extends BookingQueryPlanTestBase {
+
+	@Override
+	String explain(String sql) {
+		return jdbcTemplate.execute((Connection connection) -> {
+			try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+				bindSampleValues(statement);
+				try (ResultSet plan = statement.executeQuery()) {
+					StringBuilder text = new StringBuilder();
+					while (plan.next()) {
+						text.append(plan.getString(1)).append('\n');
+					}
+					return text.toString();
+				}
+			}
+		});
+	}
+
+	@Override
+	boolean hasFullScan(String plan) {
+		return plan.contains(".tableScan");
+	}
+
+	private static void bindSampleValues(PreparedStatement statement) throws SQLException {
+		ParameterMetaData parameters = statement.getParameterMetaData();
+		for (int i = 1; i <= parameters.getParameterCount(); i++) {
+			switch (parameters.getParameterType(i)) {
+				case Types.TIMESTAMP -> statement.setTimestamp(i, Timestamp.valueOf(NOW));
+				case Types.VARCHAR, Types.CHAR -> statement.setString(i, "WAITING");
+				case Types.BOOLEAN -> statement.setBoolean(i, true);
+				default -> statement.setLong(i, 1);
+			}
+		}
+	}
+}
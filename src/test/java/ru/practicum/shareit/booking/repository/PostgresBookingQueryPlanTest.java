@@ -0,0 +1,150 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка планов на PostgreSQL. Запросы разбираются через {@code EXPLAIN (GENERIC_PLAN)} без значений
+ * параметров, поэтому частичные индексы по статусу в этих планах не участвуют: они выбираются только
+ * в планах с конкретным значением статуса.
+ * <p>
+ * Отсечение секций проверяется отдельно: после заполнения таблица bookings пересобирается из годовых
+ * секций, а в запросы списков подставляются значения параметров, чтобы секции отсекались при планировании.
+ */
+@Testcontainers (disabledWithoutDocker = true)
+@SpringBootTest (properties = BookingQueryPlanTestBase.STATEMENT_INSPECTOR_PROPERTY)
+class PostgresBookingQueryPlanTest extends BookingQueryPlanTestBase {
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	private static final Pattern PARTITION = Pattern.compile("bookings_(y\\d{4}|default)");
+
+	private static final Pattern COMPARED_COLUMN = Pattern.compile("(\\w+)\\s*(?:=|<>|<=|>=|<|>)\\s*$");
+
+	private static final List<String> PARTITIONED_QUERIES = List.of(
+			"booker ALL", "booker ALL next page", "booker ended before horizon", "booker CURRENT", "booker PAST",
+			"booker FUTURE", "booker WAITING", "booker REJECTED",
+			"owner ALL", "owner ALL next page", "owner ended before horizon", "owner CURRENT", "owner PAST",
+			"owner FUTURE", "owner WAITING", "owner REJECTED");
+
+	@Override
+	void afterSeed() {
+		jdbcTemplate.execute("CREATE TABLE seeded_bookings AS SELECT * FROM bookings");
+		for (String partition : jdbcTemplate.queryForList(
+				"SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'bookings'::regclass",
+				String.class)) {
+			jdbcTemplate.execute("DROP TABLE " + partition);
+		}
+		int from = jdbcTemplate.queryForObject("SELECT CAST(EXTRACT(YEAR FROM MIN(end_date)) AS INT) FROM seeded_bookings", Integer.class);
+		int to = jdbcTemplate.queryForObject("SELECT CAST(EXTRACT(YEAR FROM MAX(end_date)) AS INT) FROM seeded_bookings", Integer.class);
+		for (int year = from; year <= to; year++) {
+			jdbcTemplate.execute("CREATE TABLE bookings_y" + year + " PARTITION OF bookings FOR VALUES FROM ('" + year + "-01-01') TO ('" + (year + 1) + "-01-01')");
+		}
+		jdbcTemplate.execute("CREATE TABLE bookings_default PARTITION OF bookings DEFAULT");
+		jdbcTemplate.execute("INSERT INTO bookings SELECT * FROM seeded_bookings");
+		jdbcTemplate.execute("DROP TABLE seeded_bookings");
+		jdbcTemplate.execute("ANALYZE");
+	}
+
+	@TestFactory
+	Stream<DynamicTest> bookingListsPrunePartitions() {
+		Map<String, Runnable> queries = queries();
+		return PARTITIONED_QUERIES.stream()
+				.map(name -> DynamicTest.dynamicTest(name, () -> assertPrunesPartitions(queries.get(name))));
+	}
+
+	private void assertPrunesPartitions(Runnable query) {
+		Long partitions = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_inherits WHERE inhparent = 'bookings'::regclass", Long.class);
+		for (String sql : selects(query)) {
+			String plan = jdbcTemplate.execute((Connection connection) -> {
+				try (Statement statement = connection.createStatement();
+					 ResultSet rows = statement.executeQuery("EXPLAIN " + bindLiterals(sql))) {
+					StringBuilder text = new StringBuilder();
+					while (rows.next()) {
+						text.append(rows.getString(1)).append('\n');
+					}
+					return text.toString();
+				}
+			});
+			long scanned = PARTITION.matcher(plan).results().map(MatchResult::group).distinct().count();
+			assertTrue(scanned < partitions, () -> "Секции не отсекаются:\n" + sql + "\n" + plan);
+		}
+	}
+
+	@Override
+	String explain(String sql) {
+		return jdbcTemplate.execute((Connection connection) -> {
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("SET enable_seqscan = off");
+				try (ResultSet plan = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + numberParameters(sql))) {
+					StringBuilder text = new StringBuilder();
+					while (plan.next()) {
+						text.append(plan.getString(1)).append('\n');
+					}
+					return text.toString();
+				} finally {
+					statement.execute("RESET enable_seqscan");
+				}
+			}
+		});
+	}
+
+	@Override
+	boolean hasFullScan(String plan) {
+		return plan.contains("Seq Scan");
+	}
+
+	/**
+	 * Подставляет вместо параметров значения по сравниваемому столбцу: даты — {@link #NOW},
+	 * статус — WAITING, остальное — 1.
+	 */
+	private static String bindLiterals(String sql) {
+		StringBuilder bound = new StringBuilder(sql.length() + 256);
+		for (char c : sql.toCharArray()) {
+			if (c != '?') {
+				bound.append(c);
+				continue;
+			}
+			Matcher column = COMPARED_COLUMN.matcher(bound);
+			bound.append(switch (column.find() ? column.group(1) : "") {
+				case "start_date", "end_date" -> "TIMESTAMP '" + Timestamp.valueOf(NOW) + "'";
+				case "status" -> "'WAITING'";
+				default -> "1";
+			});
+		}
+		return bound.toString();
+	}
+
+	private static String numberParameters(String sql) {
+		StringBuilder numbered = new StringBuilder(sql.length() + 16);
+		int index = 0;
+		for (char c : sql.toCharArray()) {
+			if (c == '?') {
+				numbered.append('$').append(++index);
+			} else {
+				numbered.append(c);
+			}
+		}
+		return numbered.toString();
+	}
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.booking.stream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedConstruction;
+import org.mockito.Mockito;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.user.dto.UserRow;
+import ru.practicum.shareit.user.interfaces.UserService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+class OwnerBookingFeedTest {
+
+	private static final long OWNER_ID = 1L;
+	private static final int BUFFER_SIZE = 2;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final UserService userService = Mockito.mock(UserService.class);
+	private final OwnerBookingFeed feed = new OwnerBookingFeed(userService,
+			new BookingStreamProperties(BUFFER_SIZE, Duration.ofMinutes(1)), meterRegistry);
+
+	@AfterEach
+	void tearDown() {
+		feed.destroy();
+	}
+
+	@Test
+	void slowSubscriberDropsOldestEvents() throws Exception {
+		when(userService.findRowById(OWNER_ID)).thenReturn(Optional.of(new UserRow(OWNER_ID, "owner", "owner@example.com")));
+		List<Long> sent = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch firstSent = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		try (MockedConstruction<SseEmitter> ignored = Mockito.mockConstruction(SseEmitter.class, (emitter, context) ->
+				doAnswer(invocation -> {
+					sent.add(bookingId(invocation.getArgument(0)));
+					firstSent.countDown();
+					release.await(5, TimeUnit.SECONDS);
+					return null;
+				}).when(emitter).send(any(SseEmitter.SseEventBuilder.class)))) {
+			feed.subscribe(OWNER_ID);
+		}
+
+		publish(1);
+		assertTrue(firstSent.await(5, TimeUnit.SECONDS));
+		for (long id = 2; id <= 6; id++) {
+			publish(id);
+		}
+		release.countDown();
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (sent.size() < 1 + BUFFER_SIZE && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(List.of(1L, 5L, 6L), sent);
+		assertEquals(3, meterRegistry.counter("shareit.booking.stream.dropped").count());
+	}
+
+	private void publish(long bookingId) {
+		feed.onBookingChanged(new BookingChangedEvent(OWNER_ID, BookingDto.builder().id(bookingId).build()));
+	}
+
+	private static long bookingId(SseEmitter.SseEventBuilder event) {
+		return event.build().stream()
+				.map(ResponseBodyEmitter.DataWithMediaType::getData)
+				.filter(BookingDto.class::isInstance)
+				.map(data -> ((BookingDto) data).getId())
+				.findFirst()
+				.orElseThrow();
+	}
+}
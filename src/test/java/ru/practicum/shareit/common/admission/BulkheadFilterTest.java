@@ -0,0 +1,87 @@
+package ru.practicum.shareit.common.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkheadFilterTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final BulkheadFilter filter = new BulkheadFilter(new BulkheadProperties(true,
+			Map.of(EndpointGroup.READ, new BulkheadProperties.Limit(1, 0, Duration.ZERO))), new ObjectMapper(), meterRegistry);
+
+	@Test
+	void rejectsWhenFullAndPublishesSaturation() throws Exception {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		FilterChain slow = (request, response) -> {
+			entered.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+		try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+			Future<?> first = executor.submit(() -> {
+				filter.doFilter(new MockHttpServletRequest("GET", "/items"), new MockHttpServletResponse(), slow);
+				return null;
+			});
+			assertTrue(entered.await(5, TimeUnit.SECONDS));
+			assertEquals(1, gauge(Bulkhead.ACTIVE));
+			assertEquals(1.0, gauge(Bulkhead.SATURATION));
+
+			MockHttpServletResponse rejected = new MockHttpServletResponse();
+			MockFilterChain chain = new MockFilterChain();
+			filter.doFilter(new MockHttpServletRequest("GET", "/items"), rejected, chain);
+
+			assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), rejected.getStatus());
+			assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+			assertNull(chain.getRequest());
+			assertEquals(1, meterRegistry.counter(Bulkhead.REJECTED, "group", EndpointGroup.READ.name()).count());
+
+			release.countDown();
+			first.get(5, TimeUnit.SECONDS);
+		}
+		assertEquals(0, gauge(Bulkhead.ACTIVE));
+		assertEquals(0.0, gauge(Bulkhead.SATURATION));
+	}
+
+	@Test
+	void asyncRequestHoldsPlaceUntilCompleted() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+		request.setAsyncSupported(true);
+		filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+		assertEquals(1, gauge(Bulkhead.ACTIVE));
+		MockHttpServletResponse rejected = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("GET", "/items"), rejected, new MockFilterChain());
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), rejected.getStatus());
+
+		request.getAsyncContext().complete();
+
+		assertEquals(0, gauge(Bulkhead.ACTIVE));
+	}
+
+	private double gauge(String name) {
+		return meterRegistry.get(name).tag("group", EndpointGroup.READ.name()).gauge().value();
+	}
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.common.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RateLimitFilterTest {
+
+	private static final String USER_HEADER = "X-Sharer-User-Id";
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final RateLimitProperties properties = new RateLimitProperties(true, Duration.ofMinutes(10), 1000,
+			Map.of(EndpointGroup.SEARCH, new RateLimitProperties.Limit(2, 1)));
+	private final RateLimitFilter filter = new RateLimitFilter(properties, new RateLimiter(properties), new ObjectMapper(), meterRegistry);
+	private MockFilterChain chain;
+
+	@Test
+	void rejectsRequestsOverLimitWithRetryAfter() throws Exception {
+		for (int i = 0; i < 2; i++) {
+			assertAdmitted(perform("/items/search", 1));
+		}
+
+		MockHttpServletResponse rejected = perform("/items/search", 1);
+
+		assertNull(chain.getRequest());
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+		assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+		assertEquals(1, meterRegistry.counter(RateLimitFilter.REJECTED, "group", EndpointGroup.SEARCH.name()).count());
+	}
+
+	@Test
+	void limitsEachEndpointGroupAndUserSeparately() throws Exception {
+		for (int i = 0; i < 2; i++) {
+			perform("/items/search", 1);
+		}
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), perform("/items/search", 1).getStatus());
+
+		assertAdmitted(perform("/items", 1));
+		assertAdmitted(perform("/items/search", 2));
+		assertEquals(0, meterRegistry.counter(RateLimitFilter.REJECTED, "group", EndpointGroup.READ.name()).count());
+	}
+
+	private MockHttpServletResponse perform(String path, long userId) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		request.addHeader(USER_HEADER, userId);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		chain = new MockFilterChain();
+		filter.doFilter(request, response, chain);
+		return response;
+	}
+
+	private void assertAdmitted(MockHttpServletResponse response) {
+		assertNotNull(chain.getRequest(), "Запрос не передан дальше по цепочке фильтров");
+		assertEquals(HttpStatus.OK.value(), response.getStatus());
+		assertNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+	}
+}
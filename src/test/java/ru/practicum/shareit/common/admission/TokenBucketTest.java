@@ -0,0 +1,63 @@
+package ru.practicum.shareit.common.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	void admitsBurstThenRefillsAtRate() {
+		TokenBucket bucket = new TokenBucket(new RateLimitProperties.Limit(3, 2), 0);
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, bucket.tryAcquire(0));
+		}
+		assertEquals(SECOND / 2, bucket.tryAcquire(0));
+		assertEquals(SECOND / 4, bucket.tryAcquire(SECOND / 4));
+		assertEquals(0, bucket.tryAcquire(SECOND / 2));
+		assertTrue(bucket.tryAcquire(SECOND / 2) > 0);
+	}
+
+	@Test
+	void doesNotAccumulateMoreThanCapacity() {
+		TokenBucket bucket = new TokenBucket(new RateLimitProperties.Limit(2, 1), 0);
+
+		long later = 100 * SECOND;
+		assertEquals(0, bucket.tryAcquire(later));
+		assertEquals(0, bucket.tryAcquire(later));
+		assertEquals(SECOND, bucket.tryAcquire(later));
+	}
+
+	@Test
+	void concurrentCallersNeverExceedCapacity() throws Exception {
+		int capacity = 1000;
+		TokenBucket bucket = new TokenBucket(new RateLimitProperties.Limit(capacity, 0.001), 0);
+		AtomicInteger admitted = new AtomicInteger();
+		try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+			Future<?>[] futures = new Future<?>[8];
+			for (int t = 0; t < futures.length; t++) {
+				futures[t] = executor.submit(() -> {
+					for (int i = 0; i < capacity; i++) {
+						if (bucket.tryAcquire(0) == 0) {
+							admitted.incrementAndGet();
+						}
+					}
+				});
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		assertEquals(capacity, admitted.get());
+	}
+}
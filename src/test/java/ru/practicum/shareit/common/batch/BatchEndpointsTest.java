@@ -0,0 +1,158 @@
+package ru.practicum.shareit.common.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.common.metrics.RequestMetricsFilter;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BatchEndpointsTest {
+
+	private static final String USER_HEADER = "X-Sharer-User-Id";
+	private static final int LARGE_BATCH = 120;
+
+	@Autowired
+	private MockMvc mvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private MeterRegistry meterRegistry;
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void invalidUsersAreReportedByIndexAndValidOnesSaved() throws Exception {
+		String prefix = "batch" + System.nanoTime();
+		User existing = userRepository.save(User.builder().name("Занят").email(prefix + "-taken@example.com").build());
+		List<UserDto> users = Arrays.asList(
+				user(prefix + "-0"),
+				user("taken", existing.getEmail()),
+				null,
+				user(prefix + "-3", "без собаки"),
+				user(" ", prefix + "-4@example.com"),
+				user(prefix + "-5"),
+				user("Дубликат в пакете", prefix + "-5@example.com"),
+				user(prefix + "-7"));
+
+		JsonNode result = postBatch("/users/batch", null, users, status().isOk());
+
+		assertEquals(List.of(prefix + "-0@example.com", prefix + "-5@example.com", prefix + "-7@example.com"),
+				values(result.get("created"), "email"));
+		assertEquals(List.of(1, 2, 3, 4, 6), values(result.get("errors"), "index").stream().map(Integer::valueOf).toList());
+		JsonNode errors = result.get("errors");
+		assertTrue(errors.get(0).get("message").asText().contains(existing.getEmail()));
+		assertTrue(errors.get(1).get("message").asText().contains("пуст"));
+		assertTrue(errors.get(2).get("message").asText().startsWith("email"));
+		assertTrue(errors.get(4).get("message").asText().contains(prefix + "-5@example.com"));
+		for (String email : values(result.get("created"), "email")) {
+			assertTrue(userRepository.findEmailsIn(List.of(email)).contains(email), email);
+		}
+	}
+
+	@Test
+	void invalidItemsAreReportedByIndexAndValidOnesSaved() throws Exception {
+		String name = "batch" + System.nanoTime();
+		User owner = userRepository.save(User.builder().name(name).email(name + "@example.com").build());
+		List<ItemDto> items = Arrays.asList(
+				item("Пила"),
+				item("Топор", null),
+				null,
+				item(" "),
+				item("Лопата"));
+
+		JsonNode result = postBatch("/items/batch", owner.getId(), items, status().isOk());
+
+		assertEquals(List.of("Пила", "Лопата"), values(result.get("created"), "name"));
+		assertEquals(List.of("1", "2", "3"), values(result.get("errors"), "index"));
+		assertTrue(result.get("errors").get(0).get("message").asText().startsWith("available"));
+	}
+
+	@Test
+	void emptyOrMissingBatchIsRejected() throws Exception {
+		String name = "batch" + System.nanoTime();
+		User owner = userRepository.save(User.builder().name(name).email(name + "@example.com").build());
+		for (String body : new String[]{"[]", "null", ""}) {
+			mvc.perform(post("/users/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+					.andExpect(status().isBadRequest());
+			mvc.perform(post("/items/batch").header(USER_HEADER, owner.getId()).contentType(MediaType.APPLICATION_JSON).content(body))
+					.andExpect(status().isBadRequest());
+			mvc.perform(post("/bookings/batch").header(USER_HEADER, owner.getId()).contentType(MediaType.APPLICATION_JSON).content(body))
+					.andExpect(status().isBadRequest());
+		}
+	}
+
+	@Test
+	void insertsAreSentInJdbcBatches() throws Exception {
+		String prefix = "bulk" + System.nanoTime();
+		List<UserDto> users = new ArrayList<>();
+		for (int i = 0; i < LARGE_BATCH; i++) {
+			users.add(user(prefix + "-" + i));
+		}
+
+		JsonNode result = postBatch("/users/batch", null, users, status().isOk());
+
+		assertEquals(LARGE_BATCH, result.get("created").size());
+		assertEquals(0, result.get("errors").size());
+		double statements = meterRegistry.find(RequestMetricsFilter.STATEMENTS)
+				.tags("endpoint", "/users/batch", "method", "POST")
+				.summaries().stream()
+				.mapToDouble(DistributionSummary::max)
+				.max().orElse(0);
+		assertTrue(statements > 0 && statements < LARGE_BATCH / 10.0, "SQL-запросов: " + statements);
+	}
+
+	private JsonNode postBatch(String path, Long userId, Object body, ResultMatcher expected) throws Exception {
+		MockHttpServletRequestBuilder request = post(path).contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(body));
+		if (userId != null) {
+			request.header(USER_HEADER, userId);
+		}
+		return objectMapper.readTree(mvc.perform(request).andExpect(expected).andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8));
+	}
+
+	private static List<String> values(JsonNode nodes, String field) {
+		List<String> values = new ArrayList<>();
+		nodes.forEach(node -> values.add(node.get(field).asText()));
+		return values;
+	}
+
+	private static UserDto user(String name) {
+		return user(name, name + "@example.com");
+	}
+
+	private static UserDto user(String name, String email) {
+		return UserDto.builder().name(name).email(email).build();
+	}
+
+	private static ItemDto item(String name) {
+		return item(name, true);
+	}
+
+	private static ItemDto item(String name, Boolean available) {
+		return ItemDto.builder().name(name).description("Для пакетной загрузки").available(available).build();
+	}
+}
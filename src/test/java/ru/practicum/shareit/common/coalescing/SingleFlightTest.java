@@ -0,0 +1,77 @@
+package ru.practicum.shareit.common.coalescing;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+	@Test
+	void concurrentCallersShareOneLoad() throws Exception {
+		SingleFlight<Long, String> flight = new SingleFlight<>(Duration.ZERO);
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		int callers = 16;
+		try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+			Future<?>[] futures = new Future<?>[callers];
+			for (int i = 0; i < callers; i++) {
+				futures[i] = executor.submit(() -> flight.load(1L, () -> {
+					loads.incrementAndGet();
+					try {
+						release.await(5, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return "item";
+				}));
+			}
+			Thread.sleep(200);
+			release.countDown();
+			for (Future<?> future : futures) {
+				assertEquals("item", future.get());
+			}
+		}
+		assertEquals(1, loads.get());
+		assertEquals(0, flight.size());
+	}
+
+	@Test
+	void keepsResultForTtlAndForgetsOnInvalidate() {
+		AtomicLong now = new AtomicLong();
+		SingleFlight<Long, Integer> flight = new SingleFlight<>(Duration.ofNanos(100), now::get);
+		AtomicInteger loads = new AtomicInteger();
+
+		assertEquals(1, flight.load(1L, loads::incrementAndGet));
+		now.set(99);
+		assertEquals(1, flight.load(1L, loads::incrementAndGet));
+		now.set(100);
+		assertEquals(2, flight.load(1L, loads::incrementAndGet));
+
+		flight.invalidate(1L);
+		assertEquals(3, flight.load(1L, loads::incrementAndGet));
+
+		now.set(1000);
+		flight.purgeExpired();
+		assertEquals(0, flight.size());
+	}
+
+	@Test
+	void doesNotRememberFailures() {
+		SingleFlight<Long, String> flight = new SingleFlight<>(Duration.ofMinutes(1));
+
+		assertThrows(IllegalStateException.class, () -> flight.load(1L, () -> {
+			throw new IllegalStateException();
+		}));
+		assertEquals("item", flight.load(1L, () -> "item"));
+	}
+}
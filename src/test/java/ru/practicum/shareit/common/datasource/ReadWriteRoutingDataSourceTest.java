@@ -0,0 +1,62 @@
+package ru.practicum.shareit.common.datasource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.interfaces.UserService;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest (properties = {
+		"spring.datasource.url=" + ReadWriteRoutingDataSourceTest.PRIMARY_URL,
+		"shareit.datasource.replicas[0].url=" + ReadWriteRoutingDataSourceTest.REPLICA_URL,
+		"shareit.datasource.replicas[0].username=sa",
+		"shareit.cache.enabled=false"})
+class ReadWriteRoutingDataSourceTest {
+
+	static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+	static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+	private static final JdbcTemplate PRIMARY = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+	private static final JdbcTemplate REPLICA = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+	@Autowired
+	private UserService userService;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeAll
+	static void createReplicaSchema() {
+		Flyway.configure()
+				.dataSource(REPLICA.getDataSource())
+				.locations("classpath:db/migration/common", "classpath:db/migration/h2")
+				.load()
+				.migrate();
+		REPLICA.update("INSERT INTO users (user_id, name, email) VALUES (1000, 'Реплика', 'replica@test.ru')");
+	}
+
+	@Test
+	void readOnlyTransactionsUseReplicaAndWritesUsePrimary() {
+		userService.createUser(UserDto.builder().name("Основная").email("primary@test.ru").build());
+
+		assertEquals(List.of("primary@test.ru"), PRIMARY.queryForList("SELECT email FROM users", String.class));
+		assertEquals(List.of("replica@test.ru"), emails(userService.getAllUsers()));
+
+		Collection<UserDto> insideWrite = new TransactionTemplate(transactionManager).execute(status -> userService.getAllUsers());
+		assertEquals(List.of("primary@test.ru"), emails(insideWrite));
+	}
+
+	private static List<String> emails(Collection<UserDto> users) {
+		return users.stream().map(UserDto::getEmail).toList();
+	}
+}
@@ -0,0 +1,140 @@
+package ru.practicum.shareit.common.streaming;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemService;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.interfaces.UserService;
+import ru.practicum.shareit.user.model.User;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest (properties = "shareit.streaming.chunk-size=" + NdjsonStreamingTest.CHUNK_SIZE)
+@AutoConfigureMockMvc
+class NdjsonStreamingTest {
+
+	static final int CHUNK_SIZE = 3;
+	private static final int ROWS = 3 * CHUNK_SIZE + 1;
+	private static final String USER_HEADER = "X-Sharer-User-Id";
+
+	@Autowired
+	private MockMvc mvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private UserService userService;
+	@Autowired
+	private ItemService itemService;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private ItemRepository itemRepository;
+
+	private User owner;
+	private final List<Long> userIds = new ArrayList<>();
+	private final List<Long> itemIds = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		for (int i = 0; i < ROWS; i++) {
+			String name = "stream" + System.nanoTime();
+			userIds.add(userRepository.save(User.builder().name(name).email(name + "@example.com").build()).getId());
+		}
+		owner = userRepository.getReferenceById(userIds.getFirst());
+		for (int i = 0; i < ROWS; i++) {
+			itemIds.add(itemRepository.save(Item.builder().name("Палатка " + i).description("Туристическая палатка").available(true)
+					.owner(owner).build()).getId());
+		}
+	}
+
+	@Test
+	void usersAreStreamedOnePerLine() throws Exception {
+		List<JsonNode> users = stream(get("/users"));
+
+		assertTrue(users.size() >= ROWS);
+		assertTrue(users.stream().map(user -> user.get("id").asLong()).toList().containsAll(userIds));
+		users.forEach(user -> assertTrue(user.has("name") && user.has("email"), user.toString()));
+	}
+
+	@Test
+	void itemsAreStreamedOnePerLine() throws Exception {
+		List<JsonNode> items = stream(get("/items").header(USER_HEADER, owner.getId()));
+
+		assertEquals(itemIds, items.stream().map(item -> item.get("id").asLong()).toList());
+		items.forEach(item -> assertTrue(item.has("name") && item.has("available"), item.toString()));
+	}
+
+	@Test
+	void jsonArrayIsReturnedWithoutNdjsonAccept() throws Exception {
+		String body = mvc.perform(get("/items").header(USER_HEADER, owner.getId()).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(request().asyncNotStarted())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andReturn().getResponse().getContentAsString();
+
+		assertEquals(ROWS, objectMapper.readTree(body).size());
+	}
+
+	@Test
+	void persistenceContextIsClearedEveryChunk() {
+		List<Integer> managed = new ArrayList<>();
+		userService.streamAllUsers(user -> managed.add(entityManager.unwrap(Session.class).getStatistics().getEntityCount()));
+
+		assertTrue(managed.size() >= ROWS);
+		for (int i = 0; i < managed.size(); i++) {
+			int chunkStart = i / CHUNK_SIZE * CHUNK_SIZE;
+			assertEquals(Math.min(CHUNK_SIZE, managed.size() - chunkStart), managed.get(i), managed.toString());
+		}
+
+		List<Integer> managedItems = new ArrayList<>();
+		itemService.streamAllItemsByOwner(owner.getId(),
+				item -> managedItems.add(entityManager.unwrap(Session.class).getStatistics().getEntityCount()));
+
+		assertEquals(ROWS, managedItems.size());
+		assertTrue(managedItems.stream().allMatch(count -> count == 0), managedItems.toString());
+	}
+
+	private List<JsonNode> stream(MockHttpServletRequestBuilder builder) throws Exception {
+		MvcResult started = mvc.perform(builder.accept(MediaType.APPLICATION_NDJSON))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		String body = mvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+		assertTrue(body.endsWith("\n"));
+		List<JsonNode> rows = new ArrayList<>();
+		for (String line : body.split("\n")) {
+			JsonNode row = objectMapper.readTree(line);
+			assertTrue(row.isObject(), line);
+			rows.add(row);
+		}
+		return rows;
+	}
+}
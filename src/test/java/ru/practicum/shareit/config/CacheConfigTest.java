@@ -0,0 +1,158 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.UpdateItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemService;
+import ru.practicum.shareit.user.dto.UserRow;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.interfaces.UserService;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CacheConfigTest {
+
+	private static final String USER_HEADER = "X-Sharer-User-Id";
+
+	@Autowired
+	private MockMvc mvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private CacheManager cacheManager;
+	@Autowired
+	private MeterRegistry meterRegistry;
+	@Autowired
+	private UserService userService;
+	@Autowired
+	private ItemService itemService;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private ItemRepository itemRepository;
+
+	private User user;
+	private Item item;
+
+	@BeforeEach
+	void setUp() {
+		String name = "cache" + System.nanoTime();
+		user = userRepository.save(User.builder().name(name).email(name + "@example.com").build());
+		item = itemRepository.save(Item.builder().name("Стремянка").description("Алюминиевая стремянка").available(true).owner(user).build());
+	}
+
+	@Test
+	void repeatedLookupIsServedFromCache() {
+		double hits = hits(CacheConfig.USERS);
+
+		UserRow first = userService.findRowById(user.getId()).orElseThrow();
+		userRepository.save(user.toBuilder().name("изменён в обход сервиса").build());
+		UserRow second = userService.findRowById(user.getId()).orElseThrow();
+
+		assertEquals(first, second);
+		assertEquals(hits + 1, hits(CacheConfig.USERS));
+		assertTrue(cached(CacheConfig.USERS).containsKey(user.getId()));
+	}
+
+	@Test
+	void missingUserIsNotCached() {
+		assertTrue(userService.findRowById(Long.MAX_VALUE).isEmpty());
+
+		assertFalse(cached(CacheConfig.USERS).containsKey(Long.MAX_VALUE));
+	}
+
+	@Test
+	void patchUserDoesNotLeaveStaleRow() throws Exception {
+		userService.findRowById(user.getId());
+
+		mvc.perform(patch("/users/{id}", user.getId())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(UserUpdateDto.builder().name("Новое имя").email("new" + user.getEmail()).build())))
+				.andExpect(status().isOk());
+
+		assertFalse(cached(CacheConfig.USERS).containsKey(user.getId()));
+		UserRow row = userService.findRowById(user.getId()).orElseThrow();
+		assertEquals("Новое имя", row.name());
+		assertEquals("new" + user.getEmail(), row.email());
+		mvc.perform(get("/users/{id}", user.getId()))
+				.andExpect(jsonPath("$.name").value("Новое имя"));
+	}
+
+	@Test
+	void deleteUserEvictsRow() throws Exception {
+		User other = userRepository.save(User.builder().name("Удаляемый").email("deleted" + user.getEmail()).build());
+		assertTrue(userService.findRowById(other.getId()).isPresent());
+
+		mvc.perform(delete("/users/{id}", other.getId()))
+				.andExpect(status().isNoContent());
+
+		assertFalse(cached(CacheConfig.USERS).containsKey(other.getId()));
+		assertTrue(userService.findRowById(other.getId()).isEmpty());
+	}
+
+	@Test
+	void patchItemEvictsRow() throws Exception {
+		assertTrue(itemService.findRowById(item.getId()).orElseThrow().available());
+
+		mvc.perform(patch("/items/{itemId}", item.getId())
+						.header(USER_HEADER, user.getId())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(new UpdateItemDto("Лестница", null, false))))
+				.andExpect(status().isOk());
+
+		assertFalse(cached(CacheConfig.ITEMS).containsKey(item.getId()));
+		assertFalse(itemService.findRowById(item.getId()).orElseThrow().available());
+		assertEquals("Лестница", itemService.findRowById(item.getId()).orElseThrow().name());
+	}
+
+	@Test
+	void cacheMetricsAreRegistered() {
+		for (String cacheName : new String[]{CacheConfig.USERS, CacheConfig.ITEMS}) {
+			for (String result : new String[]{"hit", "miss"}) {
+				assertNotNull(meterRegistry.find("cache.gets").tag("cache", cacheName).tag("result", result).meter(),
+						cacheName + " " + result);
+			}
+			assertNotNull(meterRegistry.find("cache.evictions").tag("cache", cacheName).meter(), cacheName);
+			assertNotNull(meterRegistry.find("cache.size").tag("cache", cacheName).meter(), cacheName);
+		}
+	}
+
+	private double hits(String cacheName) {
+		FunctionCounter counter = meterRegistry.find("cache.gets").tag("cache", cacheName).tag("result", "hit").functionCounter();
+		assertNotNull(counter);
+		return counter.count();
+	}
+
+	@SuppressWarnings ("unchecked")
+	private Map<Object, Object> cached(String cacheName) {
+		Cache cache = cacheManager.getCache(cacheName);
+		assertNotNull(cache);
+		return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache()).asMap();
+	}
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.interfaces.UserService;
+import ru.practicum.shareit.user.model.User;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest (properties = "shareit.cache.enabled=false")
+class CacheDisabledTest {
+
+	@Autowired
+	private ObjectProvider<CacheManager> cacheManager;
+	@Autowired
+	private MeterRegistry meterRegistry;
+	@Autowired
+	private UserService userService;
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void lookupsGoToRepository() {
+		String name = "nocache" + System.nanoTime();
+		User user = userRepository.save(User.builder().name(name).email(name + "@example.com").build());
+
+		assertEquals(name, userService.findRowById(user.getId()).orElseThrow().name());
+		userRepository.save(user.toBuilder().name("изменён в обход сервиса").build());
+
+		assertEquals("изменён в обход сервиса", userService.findRowById(user.getId()).orElseThrow().name());
+		assertNull(cacheManager.getIfAvailable());
+		assertNull(meterRegistry.find("cache.gets").meter());
+	}
+}
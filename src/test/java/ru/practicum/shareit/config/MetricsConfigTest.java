@@ -0,0 +1,112 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.common.metrics.QueryCountingEventListener;
+import ru.practicum.shareit.common.metrics.QueryCountingStatementInspector;
+import ru.practicum.shareit.common.metrics.RequestMetricsFilter;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.interfaces.impl.UserServiceImpl;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability (tracing = false)
+class MetricsConfigTest {
+
+	private static final String USER_HEADER = "X-Sharer-User-Id";
+
+	@Autowired
+	private MockMvc mvc;
+	@Autowired
+	private MeterRegistry meterRegistry;
+	@Autowired
+	private PrometheusMeterRegistry prometheusRegistry;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private ItemRepository itemRepository;
+
+	@Test
+	void serviceMethodsAreTimed() throws Exception {
+		User user = createUser();
+		long before = serviceCalls("getUserById");
+
+		mvc.perform(get("/users/{id}", user.getId())).andExpect(status().isOk());
+
+		assertEquals(before + 1, serviceCalls("getUserById"));
+		Timer timer = meterRegistry.find("shareit.service")
+				.tags("class", UserServiceImpl.class.getName(), "method", "getUserById", "exception", "none")
+				.timer();
+		assertNotNull(timer);
+		assertTrue(prometheusRegistry.scrape().lines()
+				.anyMatch(line -> line.startsWith("shareit_service_seconds_bucket{") && line.contains("method=\"getUserById\"")));
+	}
+
+	@Test
+	void hibernateIsInstrumented() {
+		SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+		EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+
+		assertInstanceOf(QueryCountingStatementInspector.class, sessionFactory.getSessionFactoryOptions().getStatementInspector());
+		assertTrue(StreamSupport.stream(registry.getEventListenerGroup(EventType.POST_LOAD).listeners().spliterator(), false)
+				.anyMatch(QueryCountingEventListener.class::isInstance));
+		assertTrue(StreamSupport.stream(registry.getEventListenerGroup(EventType.INIT_COLLECTION).listeners().spliterator(), false)
+				.anyMatch(QueryCountingEventListener.class::isInstance));
+	}
+
+	@Test
+	void requestDatabaseMetricsAreRecorded() throws Exception {
+		User owner = createUser();
+		Item item = itemRepository.save(Item.builder().name("Фонарь").description("Налобный фонарь").available(true).owner(owner).build());
+
+		mvc.perform(get("/items/{itemId}", item.getId()).header(USER_HEADER, owner.getId())).andExpect(status().isOk());
+
+		assertTrue(lastMax(RequestMetricsFilter.STATEMENTS) >= 1);
+		assertTrue(lastMax(RequestMetricsFilter.ENTITIES_LOADED) >= 1);
+		assertEquals(0, lastMax(RequestMetricsFilter.COLLECTIONS_FETCHED));
+	}
+
+	private long serviceCalls(String method) {
+		Timer timer = meterRegistry.find("shareit.service").tags("method", method).timer();
+		return timer == null ? 0 : timer.count();
+	}
+
+	private double lastMax(String name) {
+		DistributionSummary summary = meterRegistry.find(name)
+				.tags("endpoint", "/items/{itemId}", "method", "GET", "state", "none")
+				.summary();
+		assertNotNull(summary, name);
+		return summary.max();
+	}
+
+	private User createUser() {
+		String name = "metrics" + System.nanoTime();
+		return userRepository.save(User.builder().name(name).email(name + "@example.com").build());
+	}
+}
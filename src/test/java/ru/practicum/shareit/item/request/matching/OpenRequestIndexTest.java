@@ -0,0 +1,52 @@
+package ru.practicum.shareit.item.request.matching;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import ru.practicum.shareit.item.request.model.ItemRequest;
+import ru.practicum.shareit.item.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OpenRequestIndexTest {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+	private final OpenRequestIndex index = new OpenRequestIndex(Mockito.mock(ItemRequestRepository.class));
+
+	@Test
+	void matchesWhenAllNameKeywordsOccurInRequest() {
+		index.add(request(1, 10, "Нужна дрель, чтобы повесить полку", NOW));
+		index.add(request(2, 10, "Ищу аккумуляторную отвёртку", NOW));
+
+		assertEquals(Optional.of(1L), index.match(20, "Дрель"));
+		assertEquals(Optional.of(2L), index.match(20, "Аккумуляторная отвертка"));
+		assertEquals(Optional.empty(), index.match(20, "Аккумуляторная дрель"));
+		assertEquals(Optional.empty(), index.match(20, "Пила"));
+	}
+
+	@Test
+	void prefersOldestRequestOfAnotherUser() {
+		index.add(request(1, 20, "Дрель на выходные", NOW.minusDays(2)));
+		index.add(request(2, 10, "Дрелью просверлить стену", NOW));
+		index.add(request(3, 11, "Нужна дрель", NOW.minusDays(1)));
+
+		assertEquals(Optional.of(3L), index.match(20, "дрель"));
+
+		index.remove(3);
+		assertEquals(Optional.of(2L), index.match(20, "дрель"));
+		assertEquals(2, index.size());
+	}
+
+	private static ItemRequest request(long id, long requestorId, String description, LocalDateTime created) {
+		return ItemRequest.builder()
+				.id(id)
+				.requestor(User.builder().id(requestorId).build())
+				.description(description)
+				.created(created)
+				.build();
+	}
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemNameTrieTest {
+
+	@Test
+	void completesPrefixRankedByItemCount() {
+		ItemNameTrie trie = ItemNameTrie.of(3, List.of("Дрель", "Дрель ударная", "Дрель ударная", "Дрожжи", "Пила", "Дрель"));
+
+		assertEquals(List.of("Дрель", "Дрель ударная", "Дрожжи"), trie.complete("дР", 10));
+		assertEquals(List.of("Дрель", "Дрель ударная"), trie.complete("дрел", 10));
+		assertEquals(List.of("Дрель ударная"), trie.complete("дрель у", 10));
+		assertEquals(List.of("Дрель"), trie.complete("д", 1));
+		assertEquals(List.of(), trie.complete("дрель с", 10));
+		assertEquals(List.of(), trie.complete("", 10));
+	}
+
+	@Test
+	void updatesReturnNewVersionAndKeepOldOne() {
+		ItemNameTrie before = ItemNameTrie.of(5, List.of("Дрель", "Дрожжи"));
+
+		ItemNameTrie after = before.remove("Дрожжи").add("Дрезина");
+
+		assertEquals(List.of("Дрель", "Дрожжи"), before.complete("др", 10));
+		assertEquals(List.of("Дрезина", "Дрель"), after.complete("др", 10));
+		assertEquals(List.of(), after.complete("дро", 10));
+	}
+
+	@Test
+	void rebuildCompactsNodesLeftByRemovals() {
+		ItemNameTrie trie = ItemNameTrie.of(5, List.of("Дрель", "Дрожжи", "Пила"));
+
+		ItemNameTrie removed = trie.remove("Дрожжи").remove("Пила").remove("Отсутствующая");
+		ItemNameTrie rebuilt = ItemNameTrie.of(5, List.of("Дрель"));
+
+		assertEquals(rebuilt.complete("д", 10), removed.complete("д", 10));
+		assertTrue(rebuilt.nodeCount() < removed.nodeCount());
+		assertEquals(2, rebuilt.nodeCount());
+	}
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.UpdateItemDto;
+import ru.practicum.shareit.item.repository.ItemService;
+import ru.practicum.shareit.user.interfaces.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ItemSearchIndexTest {
+
+	private static final List<String> QUERIES = List.of("д", "Д", "ре", "РЕЛ", "дрель", "ДРЕЛЬ", "аккумуляторная",
+			"DRILL", "drill", "ill", "о", "ка", "к", "Щётка", "щётк", "ЁТ", "садовая тачка", "нет такого", "x");
+
+	@Autowired
+	private ItemSearchIndex searchIndex;
+	@Autowired
+	private ItemService itemService;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private EntityManager entityManager;
+
+	private User owner;
+	private final List<Long> created = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		String name = "search" + System.nanoTime();
+		owner = userRepository.save(User.builder().name(name).email(name + "@example.com").build());
+		createItem("Дрель", "Аккумуляторная дрель", true);
+		createItem("Drill", "Ударная DRILL для бетона", true);
+		createItem("Отвёртка", "Крестовая, с набором бит", true);
+		createItem("Щётка", "Садовая тачка и щётка", true);
+		createItem("Дрель сломанная", "Сломанная дрель", false);
+		createItem("Ёлка", "Искусственная ёлка", true);
+	}
+
+	@Test
+	void resultsMatchIlikeQuery() {
+		for (String query : QUERIES) {
+			assertEquals(ilike(query), indexed(query), query);
+		}
+	}
+
+	@Test
+	void unavailableItemsAreExcluded() {
+		assertEquals(List.of(created.get(0)), indexed("дрель"));
+		assertEquals(List.of(), indexed("сломан"));
+	}
+
+	@Test
+	void blankAndShortQueries() {
+		assertEquals(List.of(), searchIndex.search(""));
+		assertEquals(List.of(), searchIndex.search(null));
+		assertTrue(itemService.searchItems("   ").isEmpty());
+		assertEquals(ilike("ё"), indexed("Ё"));
+		assertEquals(ilike("ёл"), indexed("ЁЛ"));
+	}
+
+	@Test
+	void updatedItemIsReindexedUnderNewName() {
+		long itemId = created.get(2);
+		itemService.updateItem(itemId, new UpdateItemDto("Шуруповёрт", null, null), owner.getId());
+
+		assertEquals(List.of(itemId), indexed("шуруповёрт"));
+		assertEquals(List.of(), indexed("отвёртка"));
+		assertEquals(ilike("бит"), indexed("бит"));
+
+		itemService.updateItem(itemId, new UpdateItemDto(null, null, false), owner.getId());
+
+		assertEquals(List.of(), indexed("шуруповёрт"));
+		for (String query : QUERIES) {
+			assertEquals(ilike(query), indexed(query), query);
+		}
+	}
+
+	private void createItem(String name, String description, boolean available) {
+		ItemDto dto = ItemDto.builder().name(name).description(description).available(available).build();
+		created.add(itemService.createItem(owner.getId(), dto).getId());
+	}
+
+	private List<Long> indexed(String query) {
+		return searchIndex.search(query).stream().filter(created::contains).toList();
+	}
+
+	private List<Long> ilike(String query) {
+		return entityManager.createQuery("SELECT i.id FROM Item i WHERE i.available = true "
+						+ "AND ( i.name ILIKE ?1 OR i.description ILIKE ?1 ) ORDER BY i.id", Long.class)
+				.setParameter(1, "%" + query + "%")
+				.getResultList()
+				.stream()
+				.filter(created::contains)
+				.toList();
+	}
+}